@@ -0,0 +1,77 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import uk.gov.hmcts.reform.dev.config.TaskStateMachineConfig;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.service.TaskChangeSequence;
+import uk.gov.hmcts.reform.dev.service.TaskTransitionTable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    static final LocalDateTime DUE_DATE = LocalDateTime.of(2030, 10, 25, 10, 30, 15);
+
+    private BenchmarkData() {
+        // private constructor to prevent instantiation
+    }
+
+    static Task task(long id) {
+        return Task.builder()
+            .id(id)
+            .title("Benchmark task " + id)
+            .description("Review the case bundle and prepare directions for the hearing listed next week")
+            .status(TaskStatus.IN_PROGRESS)
+            .dueDate(DUE_DATE)
+            .build();
+    }
+
+    static TaskDTO taskDto(long id) {
+        return TaskDTO.builder()
+            .id(id)
+            .title("Benchmark task " + id)
+            .description("Review the case bundle and prepare directions for the hearing listed next week")
+            .status(TaskStatus.IN_PROGRESS)
+            .dueDate(DUE_DATE)
+            .build();
+    }
+
+    static List<TaskDTO> taskDtos(int count) {
+        List<TaskDTO> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            tasks.add(taskDto(i));
+        }
+        return tasks;
+    }
+
+    /**
+     * A change sequence that never moves, so the write paths measure the store call alone.
+     */
+    static TaskChangeSequence fixedChangeSequence() {
+        return new TaskChangeSequence() {
+            @Override
+            public long current() {
+                return 0;
+            }
+
+            @Override
+            public void advance() {
+                // Nothing reads it back during a benchmark
+            }
+        };
+    }
+
+    /**
+     * Builds the transition table from the real state machine configuration; the context can be closed afterwards.
+     */
+    static TaskTransitionTable transitionTable() {
+        try (AnnotationConfigApplicationContext context =
+                 new AnnotationConfigApplicationContext(TaskStateMachineConfig.class, TaskTransitionTable.class)) {
+            return context.getBean(TaskTransitionTable.class);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.dev.mapper.TaskMapper;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
+import uk.gov.hmcts.reform.dev.service.TaskExistenceFilter;
+import uk.gov.hmcts.reform.dev.service.TaskServiceImpl;
+import uk.gov.hmcts.reform.dev.service.TaskStateService;
+import uk.gov.hmcts.reform.dev.service.TaskTransitionTable;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request handling on Tomcat's default 200 platform worker threads against one virtual thread per request.
+ * Each request is a cache-missing {@code getTaskById} whose repository call blocks for {@code mongoLatencyMillis},
+ * standing in for a Mongo round trip, so the result shows how many concurrent requests each mode can absorb.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class ExecutionModeBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 2000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"5"})
+    private long mongoLatencyMillis;
+
+    private final AtomicLong nextId = new AtomicLong();
+    private ExecutorService executor;
+    private TaskServiceImpl taskService;
+
+    @Setup
+    public void setUp() {
+        executor = "virtual".equals(mode)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        TaskTransitionTable transitionTable = BenchmarkData.transitionTable();
+        TaskStore repository = blockingRepository();
+        taskService = new TaskServiceImpl(repository, new TaskMapper(transitionTable),
+                                          new TaskStateService(transitionTable, new SimpleMeterRegistry()),
+                                          null, null,
+                                          Caffeine.newBuilder().maximumSize(0).buildAsync(), event -> { },
+                                          new TaskExistenceFilter(repository, false, 1, 0.01),
+                                          BenchmarkData.fixedChangeSequence());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void getTaskById() throws InterruptedException, ExecutionException {
+        List<Future<?>> requests = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            long id = nextId.incrementAndGet();
+            requests.add(executor.submit(() -> taskService.getTaskById(id)));
+        }
+        for (Future<?> request : requests) {
+            request.get();
+        }
+    }
+
+    private TaskStore blockingRepository() {
+        return (TaskStore) Proxy.newProxyInstance(
+            TaskStore.class.getClassLoader(),
+            new Class<?>[]{TaskStore.class},
+            (proxy, method, args) -> {
+                if (!"findById".equals(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                Thread.sleep(mongoLatencyMillis);
+                return Optional.of(BenchmarkData.task((Long) args[0]));
+            });
+    }
+}
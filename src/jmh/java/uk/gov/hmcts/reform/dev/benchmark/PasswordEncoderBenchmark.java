@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import uk.gov.hmcts.reform.dev.security.CachingPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of verifying an HTTP Basic password: plain BCrypt as {@code UserConfig} used to register it, against the
+ * caching encoder once the credentials have been verified.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PasswordEncoderBenchmark {
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordEncoder cachingPasswordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder();
+        cachingPasswordEncoder = new CachingPasswordEncoder(passwordEncoder, 10_000, Duration.ofMinutes(5));
+        encodedPassword = passwordEncoder.encode("password");
+        cachingPasswordEncoder.matches("password", encodedPassword);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("password", encodedPassword);
+    }
+
+    @Benchmark
+    public boolean cachedMatches() {
+        return cachingPasswordEncoder.matches("password", encodedPassword);
+    }
+}
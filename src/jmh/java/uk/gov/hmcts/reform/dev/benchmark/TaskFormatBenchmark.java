@@ -0,0 +1,90 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.dev.mapper.TaskDTOSerializer;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes a 100 task listing as JSON, CBOR and Smile, with Jackson's reflective bean serializer and with
+ * {@link TaskDTOSerializer}. {@code payloadBytes} reports the response size: raw for {@code serialize}, and after
+ * gzip (as {@code server.compression} would send it) for {@code serializeAndCompress}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"reflective", "tuned"})
+    public String serializer;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDTO> tasks;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory());
+            case "smile" -> builder.factory(new SmileFactory());
+            default -> { }
+        }
+        if ("tuned".equals(serializer)) {
+            builder.modulesToInstall(new SimpleModule().addSerializer(new TaskDTOSerializer()));
+        }
+        objectMapper = builder.build();
+        tasks = BenchmarkData.taskDtos(100);
+    }
+
+    @Benchmark
+    public byte[] serialize(Payload payload) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(tasks);
+        payload.payloadBytes = body.length;
+        return body;
+    }
+
+    @Benchmark
+    public byte[] serializeAndCompress(Payload payload) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            objectMapper.writeValue(gzip, tasks);
+        }
+        payload.payloadBytes = compressed.size();
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trips of {@link TaskDTO}, configured the way Spring Boot configures the application mapper
+ * (JavaTimeModule, ISO-8601 {@code dueDate}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskJsonBenchmark {
+
+    private static final TypeReference<List<TaskDTO>> TASK_LIST = new TypeReference<>() {
+    };
+
+    private ObjectMapper objectMapper;
+    private TaskDTO task;
+    private List<TaskDTO> tasks;
+    private byte[] taskJson;
+    private byte[] tasksJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        task = BenchmarkData.taskDto(42L);
+        tasks = BenchmarkData.taskDtos(100);
+        taskJson = objectMapper.writeValueAsBytes(task);
+        tasksJson = objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws IOException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public TaskDTO deserializeTask() throws IOException {
+        return objectMapper.readValue(taskJson, TaskDTO.class);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws IOException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<TaskDTO> deserializeTaskList() throws IOException {
+        return objectMapper.readValue(tasksJson, TASK_LIST);
+    }
+}
@@ -0,0 +1,61 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.reform.dev.enums.TaskEvent;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.mapper.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.service.TaskStateService;
+import uk.gov.hmcts.reform.dev.service.TaskTransitionTable;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMapperBenchmark {
+
+    private TaskMapper mapper;
+    private TaskStateService taskStateService;
+    private Task task;
+    private TaskDTO taskDto;
+
+    @Setup
+    public void setUp() {
+        TaskTransitionTable transitionTable = BenchmarkData.transitionTable();
+        mapper = new TaskMapper(transitionTable);
+        taskStateService = new TaskStateService(transitionTable, new SimpleMeterRegistry());
+        task = BenchmarkData.task(42L);
+        taskDto = BenchmarkData.taskDto(42L);
+    }
+
+    @Benchmark
+    public TaskDTO toDto() {
+        return mapper.toDto(task);
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return mapper.toEntity(taskDto);
+    }
+
+    @Benchmark
+    public TaskEvent statusToEvent() {
+        return mapper.statusToEvent(TaskStatus.IN_PROGRESS, TaskStatus.CANCELLED);
+    }
+
+    @Benchmark
+    public TaskStatus applyEvent() {
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        taskStateService.applyEvent(task, TaskEvent.COMPLETE);
+        return task.getStatus();
+    }
+}
@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.dev.mapper.TaskDTOSerializer;
+import uk.gov.hmcts.reform.dev.mapper.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps and serializes a 100 task listing with full 500 character descriptions, once with every field and once
+ * with the dashboard fieldset ({@code fields=id,status,dueDate}). {@code payloadBytes} reports the response size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskProjectionBenchmark {
+
+    private static final int TASK_COUNT = 100;
+
+    @Param({"id,title,description,status,dueDate,version,createdAt", "id,status,dueDate"})
+    public String fields;
+
+    private ObjectWriter writer;
+    private TaskMapper mapper;
+    private TaskFields taskFields;
+    private List<Task> tasks;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        mapper = new TaskMapper(BenchmarkData.transitionTable());
+        taskFields = TaskFields.parse(fields);
+        // Written the way TaskController writes it: a fieldset under the sparse view, which omits the fields left out
+        writer = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new SimpleModule().addSerializer(new TaskDTOSerializer()))
+            .build()
+            .writerWithView(taskFields.isAll() ? null : TaskFields.Sparse.class);
+        tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 1; i <= TASK_COUNT; i++) {
+            Task task = BenchmarkData.task(i);
+            task.setDescription("d".repeat(500));
+            task.setVersion(3L);
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeListing(Payload payload) throws IOException {
+        List<TaskDTO> dtos = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            dtos.add(mapper.toDto(task, taskFields));
+        }
+        byte[] json = writer.writeValueAsBytes(dtos);
+        payload.payloadBytes = json.length;
+        return json;
+    }
+}
@@ -0,0 +1,107 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repository.EmbeddedTaskRepository;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.repository.TaskRepositoryCustomImpl;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The embedded store against Mongo behind the same {@link TaskStore} calls, with 8 threads so concurrent
+ * writes can share an {@code fsync}. The embedded store runs with fsync on, as configured by default. The
+ * {@code mongo} runs need a local server ({@code -Dmongo.uri=...}, default {@code mongodb://localhost:27017}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class TaskStoreBenchmark {
+
+    private static final int PRELOADED_TASKS = 10_000;
+
+    @Param({"embedded", "mongo"})
+    public String store;
+
+    private final AtomicLong nextId = new AtomicLong(PRELOADED_TASKS);
+    private TaskStore repository;
+    private MongoClient mongoClient;
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        if ("embedded".equals(store)) {
+            directory = Files.createTempDirectory("task-store-benchmark");
+            repository = new EmbeddedTaskRepository(directory, true);
+        } else {
+            mongoClient = MongoClients.create(System.getProperty("mongo.uri", "mongodb://localhost:27017"));
+            MongoTemplate template = new MongoTemplate(mongoClient, "task_benchmark");
+            template.dropCollection(Task.class);
+            repository = new MongoRepositoryFactory(template).getRepository(
+                TaskRepository.class, RepositoryFragments.just(new TaskRepositoryCustomImpl(template)));
+        }
+        for (long id = 1; id <= PRELOADED_TASKS; id += 1000) {
+            List<Task> batch = new ArrayList<>(1000);
+            for (long i = id; i < id + 1000; i++) {
+                batch.add(BenchmarkData.task(i));
+            }
+            repository.insertAllUnordered(batch);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (repository instanceof EmbeddedTaskRepository embedded) {
+            embedded.close();
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        } else {
+            mongoClient.close();
+        }
+    }
+
+    @Benchmark
+    public Task findById() {
+        return repository.findById(ThreadLocalRandom.current().nextLong(1, PRELOADED_TASKS + 1)).orElseThrow();
+    }
+
+    @Benchmark
+    public Task insert() {
+        return repository.insert(BenchmarkData.task(nextId.incrementAndGet()));
+    }
+
+    @Benchmark
+    public Object compareAndSetStatus() {
+        long id = ThreadLocalRandom.current().nextLong(1, PRELOADED_TASKS + 1);
+        return repository.compareAndSetStatus(id, null, Set.of(TaskStatus.values()), TaskStatus.IN_PROGRESS);
+    }
+}
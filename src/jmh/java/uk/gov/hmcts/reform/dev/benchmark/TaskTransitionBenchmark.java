@@ -0,0 +1,81 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.support.DefaultStateMachineContext;
+import uk.gov.hmcts.reform.dev.config.TaskStateMachineConfig;
+import uk.gov.hmcts.reform.dev.enums.TaskEvent;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.service.TaskStateService;
+import uk.gov.hmcts.reform.dev.service.TaskTransitionTable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request StateMachine construction (the previous {@code TaskStateService} behaviour) against the compiled
+ * transition table, with eight threads applying events concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class TaskTransitionBenchmark {
+
+    @Autowired
+    private StateMachineFactory<TaskStatus, TaskEvent> stateMachineFactory;
+
+    private AnnotationConfigApplicationContext context;
+    private TaskStateService taskStateService;
+
+    @State(Scope.Thread)
+    public static class ThreadTask {
+        final Task task = Task.builder().id(1L).title("Benchmark").build();
+    }
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(TaskStateMachineConfig.class);
+        context.getAutowireCapableBeanFactory().autowireBean(this);
+        taskStateService = new TaskStateService(new TaskTransitionTable(stateMachineFactory),
+                                                new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskStatus stateMachinePerCall(ThreadTask state) {
+        Task task = state.task;
+        task.setStatus(TaskStatus.NEW);
+        StateMachine<TaskStatus, TaskEvent> stateMachine = stateMachineFactory.getStateMachine();
+        stateMachine.getStateMachineAccessor().doWithAllRegions(
+            access -> access.resetStateMachine(new DefaultStateMachineContext<>(task.getStatus(), null, null, null)));
+        stateMachine.startReactively().block();
+        stateMachine.sendEvent(TaskEvent.START);
+        task.setStatus(stateMachine.getState().getId());
+        return task.getStatus();
+    }
+
+    @Benchmark
+    public TaskStatus compiledTable(ThreadTask state) {
+        Task task = state.task;
+        task.setStatus(TaskStatus.NEW);
+        taskStateService.applyEvent(task, TaskEvent.START);
+        return task.getStatus();
+    }
+}
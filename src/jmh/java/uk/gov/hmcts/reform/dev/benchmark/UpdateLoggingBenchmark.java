@@ -0,0 +1,142 @@
+package uk.gov.hmcts.reform.dev.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.mapper.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
+import uk.gov.hmcts.reform.dev.service.TaskExistenceFilter;
+import uk.gov.hmcts.reform.dev.service.TaskServiceImpl;
+import uk.gov.hmcts.reform.dev.service.TaskStateService;
+import uk.gov.hmcts.reform.dev.service.TaskTransitionTable;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of {@code updateTaskById} (see the p0.99 row) under each logging set-up, against an
+ * in-memory repository so logging is the only I/O:
+ * <ul>
+ *   <li>{@code off}: the service logger is turned off</li>
+ *   <li>{@code sync-debug}: every per-request line, written to a file on the request thread</li>
+ *   <li>{@code async-debug}: every per-request line, handed to a background appender as in logback-spring.xml</li>
+ *   <li>{@code async}: the shipped set-up, INFO through the background appender with the persisted line sampled</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class UpdateLoggingBenchmark {
+
+    @Param({"off", "sync-debug", "async-debug", "async"})
+    private String logging;
+
+    private final TaskDTO update = TaskDTO.builder().status(TaskStatus.IN_PROGRESS).build();
+    private Logger logger;
+    private Appender<ILoggingEvent> appender;
+    private Path logFile;
+    private TaskServiceImpl taskService;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("update-logging", ".log");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logger = context.getLogger(TaskServiceImpl.class);
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel(switch (logging) {
+            case "off" -> Level.OFF;
+            case "async" -> Level.INFO;
+            default -> Level.DEBUG;
+        });
+        appender = logging.startsWith("async") ? async(context, file(context)) : file(context);
+        logger.addAppender(appender);
+
+        TaskTransitionTable transitionTable = BenchmarkData.transitionTable();
+        TaskStore repository = inMemoryRepository();
+        taskService = new TaskServiceImpl(repository, new TaskMapper(transitionTable),
+                                          new TaskStateService(transitionTable, new SimpleMeterRegistry()),
+                                          null, null,
+                                          Caffeine.newBuilder().maximumSize(0).buildAsync(), event -> { },
+                                          new TaskExistenceFilter(repository, false, 1, 0.01),
+                                          BenchmarkData.fixedChangeSequence());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(true);
+        logger.setLevel(null);
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public TaskDTO updateTaskById() {
+        return taskService.updateTaskById(1L, update);
+    }
+
+    private Appender<ILoggingEvent> file(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+        return file;
+    }
+
+    private static Appender<ILoggingEvent> async(LoggerContext context, Appender<ILoggingEvent> delegate) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.setIncludeCallerData(false);
+        async.addAppender(delegate);
+        async.start();
+        return async;
+    }
+
+    private static TaskStore inMemoryRepository() {
+        return (TaskStore) Proxy.newProxyInstance(
+            TaskStore.class.getClassLoader(),
+            new Class<?>[]{TaskStore.class},
+            (proxy, method, args) -> {
+                if (!"compareAndSetStatus".equals(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                Task task = BenchmarkData.task((Long) args[0]);
+                task.setStatus(TaskStatus.NEW);
+                task.setVersion(0L);
+                return Optional.of(task);
+            });
+    }
+}
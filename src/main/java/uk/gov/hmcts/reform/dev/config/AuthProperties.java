@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "security.auth")
+public record AuthProperties(
+    @DefaultValue CredentialCache credentialCache,
+    @DefaultValue Token token,
+    @DefaultValue RateLimit rateLimit) {
+
+    public record CredentialCache(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maxSize,
+        @DefaultValue("5m") Duration ttl) {
+    }
+
+    /**
+     * Short-lived signed tokens exchanged for Basic credentials. When no secret is configured a random one is
+     * generated at startup, so tokens are only valid on the instance that issued them.
+     */
+    public record Token(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("15m") Duration ttl,
+        String secret) {
+    }
+
+    /**
+     * Token bucket per authenticated principal (per remote address for anonymous requests). A client may burst up
+     * to {@code capacity} requests, then is held to {@code refillPerSecond}; idle buckets are dropped after
+     * {@code idleTtl} and at most {@code maxClients} are kept.
+     */
+    public record RateLimit(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("200") long capacity,
+        @DefaultValue("100") double refillPerSecond,
+        @DefaultValue("10000") long maxClients,
+        @DefaultValue("10m") Duration idleTtl) {
+    }
+}
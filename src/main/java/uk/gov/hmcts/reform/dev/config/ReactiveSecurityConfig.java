@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .authorizeExchange(exchange -> exchange
+                .pathMatchers("/", "/index", "/api/public/**").permitAll()
+                .anyExchange().authenticated()
+            )
+            .httpBasic(Customizer.withDefaults())
+            .build();
+    }
+
+    /**
+     * Serves the users from {@link UserConfig}; the lookup is in-memory, so it is safe on the event loop.
+     */
+    @Bean
+    public ReactiveUserDetailsService reactiveUserDetailsService(UserDetailsService userDetailsService) {
+        return username -> Mono.fromSupplier(() -> userDetailsService.loadUserByUsername(username))
+            .onErrorResume(UsernameNotFoundException.class, ex -> Mono.empty());
+    }
+}
@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@code @Scheduled} background jobs (stats reconcile, search rebuild, overdue ticks, snapshots) on
+ * Spring's shared scheduler, sized by {@code spring.task.scheduling.pool.size}. A run that throws is logged and
+ * the next one still happens.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,16 +1,24 @@
 package uk.gov.hmcts.reform.dev.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import uk.gov.hmcts.reform.dev.security.AuthTokenFilter;
+import uk.gov.hmcts.reform.dev.security.AuthTokenService;
+import uk.gov.hmcts.reform.dev.security.ClientRateLimiter;
+import uk.gov.hmcts.reform.dev.security.RateLimitFilter;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthProperties authProperties,
+                                                   AuthTokenService authTokenService) throws Exception {
         http
             .csrf(csrf -> csrf.disable())  // new style
             .authorizeHttpRequests(auth -> auth
@@ -19,6 +27,16 @@ public class SecurityConfig {
             )
             .httpBasic(Customizer.withDefaults());
 
+        if (authProperties.token().enabled()) {
+            // Not a bean on purpose: a Filter bean would also be registered outside the security chain
+            http.addFilterBefore(new AuthTokenFilter(authTokenService), BasicAuthenticationFilter.class);
+        }
+        if (authProperties.rateLimit().enabled()) {
+            // After Basic and bearer authentication, so buckets are keyed by the authenticated principal
+            http.addFilterAfter(new RateLimitFilter(new ClientRateLimiter(authProperties.rateLimit())),
+                                BasicAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 }
@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+
+import java.time.Duration;
+
+@Configuration
+public class TaskCacheConfig {
+
+    static final String CACHE_NAME = "tasks";
+
+    /**
+     * Tasks by id for {@code TaskServiceImpl}. Async so concurrent misses for one id share a single load, and
+     * the load itself runs outside the cache's internal locks. Stats are published as {@code cache.*} meters
+     * tagged {@code cache=tasks}.
+     */
+    @Bean
+    public AsyncCache<Long, TaskDTO> taskCache(@Value("${task.cache.max-size:10000}") long maxSize,
+                                               @Value("${task.cache.ttl:60s}") Duration ttl,
+                                               MeterRegistry meterRegistry) {
+        AsyncCache<Long, TaskDTO> cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+            .tag("cache", CACHE_NAME)
+            .description("Fraction of task lookups served from the cache")
+            .register(meterRegistry);
+        return cache;
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.dev.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.User;
@@ -8,13 +9,19 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import uk.gov.hmcts.reform.dev.security.CachingPasswordEncoder;
 
 @Configuration
+@EnableConfigurationProperties(AuthProperties.class)
 public class UserConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(AuthProperties authProperties) {
+        AuthProperties.CredentialCache cache = authProperties.credentialCache();
+        if (!cache.enabled()) {
+            return new BCryptPasswordEncoder();
+        }
+        return new CachingPasswordEncoder(new BCryptPasswordEncoder(), cache.maxSize(), cache.ttl());
     }
 
     @Bean
@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.dev.models.AuthToken;
+import uk.gov.hmcts.reform.dev.security.AuthTokenService;
+
+@RestController
+@RequestMapping("/hmcts/api")
+@ConditionalOnProperty(prefix = "security.auth.token", name = "enabled", havingValue = "true")
+public class AuthController {
+
+    private final AuthTokenService authTokenService;
+
+    public AuthController(AuthTokenService authTokenService) {
+        this.authTokenService = authTokenService;
+    }
+
+    @PostMapping("/auth/token")
+    @Operation(summary = "Exchange HTTP Basic credentials for a short-lived bearer token")
+    @ApiResponse(responseCode = "200", description = "Signed token and its expiry")
+    public AuthToken issueToken(Authentication authentication) {
+        return authTokenService.issue(authentication);
+    }
+}
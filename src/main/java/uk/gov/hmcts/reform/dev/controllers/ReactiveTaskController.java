@@ -0,0 +1,90 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskPage;
+import uk.gov.hmcts.reform.dev.service.ReactiveTaskService;
+
+/**
+ * WebFlux mirror of {@link TaskController}, active only under the {@code reactive} profile.
+ */
+@RestController
+@RequestMapping("/hmcts/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    public ReactiveTaskController(ReactiveTaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @GetMapping("/")
+    public Mono<String> welcome() {
+        return Mono.just("Welcome to test-backend");
+    }
+
+    @PostMapping("/task")
+    @Operation(summary = "Create a task")
+    @ApiResponse(responseCode = "200", description = "Created task")
+    public Mono<TaskDTO> createTask(@Valid @RequestBody TaskDTO taskDTO) {
+        return taskService.createTask(taskDTO);
+    }
+
+    @GetMapping("/task/{id}")
+    @Operation(summary = "Get task by ID")
+    @ApiResponse(responseCode = "200", description = "Found the task")
+    public Mono<TaskDTO> getTaskById(@PathVariable Long id) {
+        return taskService.getTaskById(id);
+    }
+
+    @GetMapping("/tasks")
+    @Operation(summary = "Get all tasks")
+    @ApiResponse(responseCode = "200", description = "All tasks")
+    public Flux<TaskDTO> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    @GetMapping(value = "/tasks", params = "limit")
+    @Operation(summary = "Get a page of tasks ordered by ID, resuming after the given cursor")
+    @ApiResponse(responseCode = "200", description = "Page of tasks with the cursor for the next page")
+    public Mono<TaskPage> getTaskPage(@RequestParam int limit, @RequestParam(required = false) String cursor) {
+        return taskService.getTaskPage(cursor, limit);
+    }
+
+    @GetMapping(value = "/tasks/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all tasks as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "One task per line")
+    public Flux<TaskDTO> streamAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    @PutMapping("/task/{id}")
+    @Operation(summary = "Update a task based on ID")
+    @ApiResponse(responseCode = "200", description = "Updated task")
+    public Mono<TaskDTO> updateTaskById(@PathVariable Long id, @Valid @RequestBody TaskDTO taskDTO) {
+        return taskService.updateTaskById(id, taskDTO);
+    }
+
+    @DeleteMapping("/task/{id}")
+    @Operation(summary = "Delete a task based on ID")
+    @ApiResponse(responseCode = "200", description = "Deleted the task")
+    public Mono<Void> deleteTaskById(@PathVariable Long id) {
+        return taskService.deleteTaskById(id);
+    }
+}
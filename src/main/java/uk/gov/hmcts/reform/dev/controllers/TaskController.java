@@ -1,33 +1,73 @@
 package uk.gov.hmcts.reform.dev.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uk.gov.hmcts.reform.dev.exception.InvalidQueryParameterException;
+import uk.gov.hmcts.reform.dev.exception.TaskConflictException;
+import uk.gov.hmcts.reform.dev.exception.TaskPreconditionFailedException;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.BatchResult;
 import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+import uk.gov.hmcts.reform.dev.models.TaskPage;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.models.TaskStatusChange;
+import uk.gov.hmcts.reform.dev.service.IdempotencyService;
 import uk.gov.hmcts.reform.dev.service.TaskService;
 
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 import static org.springframework.http.ResponseEntity.ok;
 
 @RestController
 @RequestMapping("/hmcts/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TaskController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    // Cursor pages walk ids in order, so the list's filters, sort and projection cannot be combined with them
+    private static final List<String> UNPAGED_PARAMS = List.of("status", "dueAfter", "dueBefore", "sort", "fields");
+
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ObjectMapper objectMapper,
+                          IdempotencyService idempotencyService) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping("/")
@@ -38,33 +78,136 @@ public class TaskController {
     @PostMapping("/task")
     @Operation(summary = "Create a task")
     @ApiResponse(responseCode = "200", description = "Found the employee")
-    public TaskDTO createTask(@Valid @RequestBody TaskDTO taskDTO) {
-        return taskService.createTask(taskDTO);
+    @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still running")
+    @ApiResponse(responseCode = "422", description = "The Idempotency-Key was used with a different body")
+    public ResponseEntity<TaskDTO> createTask(@Valid @RequestBody TaskDTO taskDTO,
+                                              @RequestHeader(value = IDEMPOTENCY_KEY, required = false)
+                                              String idempotencyKey,
+                                              Principal principal) {
+        if (idempotencyKey == null) {
+            return ok(taskService.createTask(taskDTO));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidQueryParameterException(
+                IDEMPOTENCY_KEY + " must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        // Keys are per client, so two clients picking the same key never see each other's task
+        String key = (principal == null ? "" : principal.getName()) + ":" + idempotencyKey;
+        IdempotencyService.Outcome outcome = idempotencyService.createOnce(
+            key, taskDTO, () -> taskService.createTask(taskDTO));
+        return ResponseEntity.ok()
+            .header(IDEMPOTENT_REPLAYED, Boolean.toString(outcome.replayed()))
+            .body(outcome.task());
+    }
 
+    @PostMapping("/tasks/batch")
+    @Operation(summary = "Create many tasks in one bulk write")
+    @ApiResponse(responseCode = "200", description = "Outcome of each task in request order")
+    public BatchResult createTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        return taskService.createTasks(taskDTOs);
     }
 
     @GetMapping("/task/{id}")
-    @Operation(summary = "Get task by ID")
+    @Operation(summary = "Get task by ID, optionally projected to the given fields (fields=id,status)")
     @ApiResponse(responseCode = "200", description = "Found the employee")
-    public TaskDTO getTaskById(@PathVariable Long id) {
-        return taskService.getTaskById(id);
-
+    @ApiResponse(responseCode = "304", description = "The task still matches If-None-Match")
+    public ResponseEntity<Object> getTaskById(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        TaskFields taskFields = TaskFields.parse(fields);
+        TaskDTO task = fields == null ? taskService.getTaskById(id) : taskService.getTaskById(id, taskFields);
+        // Spring answers If-None-Match from the ETag with a 304 before the body is serialized
+        return eTagged(task, taskFields).body(projected(task, taskFields));
     }
 
     @GetMapping("/tasks")
-    @Operation(summary = "Get all tasks")
+    @Operation(summary = "Get tasks, optionally filtered, sorted (sort=dueDate,-id) and projected (fields=id,status)")
     @ApiResponse(responseCode = "200", description = "Found the employee")
-    public List<TaskDTO> getAllTasks() {
-        return taskService.getAllTasks();
+    @ApiResponse(responseCode = "304", description = "The unfiltered list still matches If-None-Match")
+    public ResponseEntity<Object> getAllTasks(
+        @RequestParam(required = false) TaskStatus status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+        @RequestParam(required = false) String sort,
+        @RequestParam(required = false) String fields,
+        WebRequest request) {
+        TaskQuery query = new TaskQuery(status, dueAfter, dueBefore, sort, TaskFields.parse(fields));
+        if (!query.isEmpty()) {
+            return ok(projected(taskService.findTasks(query), query.fields()));
+        }
+        // Read before the tasks, so a write landing in between can only make the tag older than the body, never newer
+        String etag = TaskETags.ofChangeSequence(taskService.getChangeSequence());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(taskService.getAllTasks());
+    }
 
+    @GetMapping(value = "/tasks", params = "limit")
+    @Operation(summary = "Get a page of tasks ordered by ID, resuming after the given cursor")
+    @ApiResponse(responseCode = "200", description = "Page of tasks with the cursor for the next page")
+    @ApiResponse(responseCode = "400", description = "limit was combined with a filter, sort or fields")
+    public TaskPage getTaskPage(@RequestParam int limit, @RequestParam(required = false) String cursor,
+                                WebRequest request) {
+        for (String param : UNPAGED_PARAMS) {
+            if (request.getParameter(param) != null) {
+                throw new InvalidQueryParameterException(param + " cannot be combined with limit");
+            }
+        }
+        return taskService.getTaskPage(cursor, limit);
+    }
+
+    @GetMapping(value = "/tasks/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all tasks as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "One task per line")
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        // Flushing is left to the servlet buffer; flushing per task would emit one chunk per document
+        ObjectWriter writer = objectMapper.writerFor(TaskDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (Stream<TaskDTO> tasks = taskService.streamAllTasks();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                Iterator<TaskDTO> iterator = tasks.iterator();
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
     }
 
     @PutMapping("/task/{id}")
     @Operation(summary = "Update a task based on ID")
     @ApiResponse(responseCode = "200", description = "Found the employee")
-    public TaskDTO updateTaskById(@PathVariable Long id,@Valid @RequestBody TaskDTO taskDTO) {
-        return taskService.updateTaskById(id, taskDTO);
+    @ApiResponse(responseCode = "412", description = "The task no longer matches If-Match")
+    public ResponseEntity<TaskDTO> updateTaskById(@PathVariable Long id, @Valid @RequestBody TaskDTO taskDTO,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                  String ifMatch) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return withETag(taskService.updateTaskById(id, taskDTO), TaskFields.ALL);
+        }
+        // Compared with the cached task, which also catches a task re-created since the client read it; the version
+        // then becomes the compare-and-set's expected version, so a write racing this one still fails it
+        TaskDTO current = taskService.getTaskById(id);
+        if (!ifMatch.trim().equals(TaskETags.of(current, TaskFields.ALL))) {
+            throw new TaskPreconditionFailedException(id);
+        }
+        try {
+            return withETag(taskService.updateTaskById(id, new TaskDTO(
+                taskDTO.id(), taskDTO.title(), taskDTO.description(), taskDTO.status(), taskDTO.dueDate(),
+                current.version(), taskDTO.createdAt())), TaskFields.ALL);
+        } catch (TaskConflictException ex) {
+            throw new TaskPreconditionFailedException(id);
+        }
+    }
 
+    @PatchMapping("/tasks/status")
+    @Operation(summary = "Change the status of many tasks in one bulk write")
+    @ApiResponse(responseCode = "200", description = "Outcome of each status change in request order")
+    public BatchResult updateTaskStatuses(@RequestBody List<TaskStatusChange> changes) {
+        return taskService.updateTaskStatuses(changes);
     }
 
     @DeleteMapping("/task/{id}")
@@ -73,4 +216,26 @@ public class TaskController {
     public void deleteTaskById(@PathVariable Long id) {
         taskService.deleteTaskById(id);
     }
+
+    private static ResponseEntity<TaskDTO> withETag(TaskDTO task, TaskFields fields) {
+        return eTagged(task, fields).body(task);
+    }
+
+    private static ResponseEntity.BodyBuilder eTagged(TaskDTO task, TaskFields fields) {
+        String etag = TaskETags.of(task, fields);
+        return etag == null ? ResponseEntity.ok() : ResponseEntity.ok().eTag(etag);
+    }
+
+    /**
+     * Serializes a response projected to a fieldset under {@link TaskFields.Sparse}, so the fields left out are
+     * omitted rather than written as {@code null}.
+     */
+    private static Object projected(Object body, TaskFields fields) {
+        if (fields.isAll()) {
+            return body;
+        }
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setSerializationView(TaskFields.Sparse.class);
+        return value;
+    }
 }
@@ -0,0 +1,39 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+
+import java.util.stream.Collectors;
+
+/**
+ * Strong entity tags for task responses. A task's tag is its version, which every write increments, plus its
+ * creation time, since a task deleted and re-created with the same id starts again at version 0. It can be checked
+ * without hashing or even serializing the body. A fieldset is a different representation and gets its own tag.
+ * The task list's tag is the {@link uk.gov.hmcts.reform.dev.service.TaskChangeSequence}.
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    /**
+     * Returns the tag of the task as projected to {@code fields}, or {@code null} if the version is unknown.
+     */
+    static String of(TaskDTO task, TaskFields fields) {
+        if (task.version() == null) {
+            return null;
+        }
+        StringBuilder tag = new StringBuilder("\"v").append(task.version());
+        if (task.createdAt() != null) {
+            tag.append('-').append(Long.toString(task.createdAt().toEpochMilli(), Character.MAX_RADIX));
+        }
+        if (!fields.isAll()) {
+            tag.append(';').append(fields.names().stream().sorted().collect(Collectors.joining(",")));
+        }
+        return tag.append('"').toString();
+    }
+
+    static String ofChangeSequence(long sequence) {
+        return "\"c" + Long.toHexString(sequence) + "\"";
+    }
+}
@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.events.TaskEventBroadcaster;
+
+@RestController
+@RequestMapping("/hmcts/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskEventController {
+
+    private final TaskEventBroadcaster broadcaster;
+
+    public TaskEventController(TaskEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(value = "/tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream task created, status_changed, deleted and overdue events as Server-Sent Events")
+    @ApiResponse(responseCode = "200", description = "Event stream; each event carries the task as JSON")
+    public SseEmitter streamTaskEvents() {
+        return broadcaster.subscribe();
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.service.TaskSearchService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/hmcts/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskSearchController {
+
+    private final TaskSearchService searchService;
+
+    public TaskSearchController(TaskSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping("/tasks/search")
+    @Operation(summary = "Find tasks whose title or description contains every word of q, best match first")
+    @ApiResponse(responseCode = "200", description = "Matches from the in-memory index, at most limit (up to 100)")
+    @ApiResponse(responseCode = "400", description = "q has no words")
+    public List<TaskDTO> searchTasks(@RequestParam String q,
+                                     @RequestParam(required = false) TaskStatus status,
+                                     @RequestParam(defaultValue = "20") int limit) {
+        return searchService.search(q, status, limit);
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.dev.models.TaskStats;
+import uk.gov.hmcts.reform.dev.service.TaskStatsService;
+
+@RestController
+@RequestMapping("/hmcts/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskStatsController {
+
+    private final TaskStatsService statsService;
+
+    public TaskStatsController(TaskStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @GetMapping("/tasks/stats")
+    @Operation(summary = "Count tasks per status, plus open tasks past their due date")
+    @ApiResponse(responseCode = "200", description = "Counts kept in memory; no query is run")
+    public TaskStats getTaskStats() {
+        return statsService.getStats();
+    }
+}
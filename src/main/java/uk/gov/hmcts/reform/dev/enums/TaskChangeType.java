@@ -0,0 +1,7 @@
+package uk.gov.hmcts.reform.dev.enums;
+
+public enum TaskChangeType {
+    CREATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import uk.gov.hmcts.reform.dev.enums.TaskChangeType;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+
+/**
+ * Published by the task service after a write has been persisted. For a creation or status change {@code task} is
+ * the whole task as written, with the new status and version; a deletion carries only the id. {@code previousStatus}
+ * is the status before a status change or deletion, and {@code null} for a creation.
+ */
+public record TaskChangedEvent(TaskChangeType type, TaskDTO task, TaskStatus previousStatus) {
+
+    public static TaskChangedEvent created(TaskDTO task) {
+        return new TaskChangedEvent(TaskChangeType.CREATED, task, null);
+    }
+
+    public static TaskChangedEvent statusChanged(TaskDTO task, TaskStatus previousStatus) {
+        return new TaskChangedEvent(TaskChangeType.STATUS_CHANGED, task, previousStatus);
+    }
+
+    public static TaskChangedEvent deleted(Long id, TaskStatus previousStatus) {
+        return new TaskChangedEvent(TaskChangeType.DELETED, TaskDTO.builder().id(id).build(), previousStatus);
+    }
+}
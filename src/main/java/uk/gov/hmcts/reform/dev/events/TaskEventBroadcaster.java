@@ -0,0 +1,181 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans task change and overdue events out to Server-Sent Event subscribers. Each event is serialized once and
+ * offered to every subscriber's bounded queue without blocking, so the writer that published it never waits on
+ * a client. Each subscriber drains its own queue on a virtual thread. A subscriber whose queue is full either
+ * loses its oldest events or is disconnected, depending on {@code task.events.overflow}.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskEventBroadcaster {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DISCONNECT
+    }
+
+    // Offered after a subscriber is closed only to wake its drain thread
+    private static final Set<DataWithMediaType> WAKE_UP = Set.of();
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final Executor drainExecutor;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    @Autowired
+    public TaskEventBroadcaster(ObjectMapper objectMapper,
+                                @Value("${task.events.buffer-size:256}") int bufferSize,
+                                @Value("${task.events.overflow:DISCONNECT}") OverflowPolicy overflowPolicy,
+                                @Value("${task.events.timeout:30m}") Duration timeout,
+                                @Value("${task.events.heartbeat:15s}") Duration heartbeat) {
+        this(objectMapper, bufferSize, overflowPolicy, timeout, heartbeat,
+             runnable -> Thread.ofVirtual().name("task-events").start(runnable));
+    }
+
+    TaskEventBroadcaster(ObjectMapper objectMapper, int bufferSize, OverflowPolicy overflowPolicy, Duration timeout,
+                         Duration heartbeat, Executor drainExecutor) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.drainExecutor = drainExecutor;
+    }
+
+    public SseEmitter subscribe() {
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeout.toMillis()));
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> close(subscriber, false));
+        emitter.onTimeout(() -> close(subscriber, false));
+        emitter.onError(ex -> close(subscriber, false));
+        subscribers.add(subscriber);
+        drainExecutor.execute(subscriber::drain);
+        return emitter;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        broadcast(event.type().name().toLowerCase(Locale.ROOT), event.task());
+    }
+
+    @EventListener
+    public void onTaskOverdue(TaskOverdueEvent event) {
+        broadcast("overdue", event);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long droppedEvents() {
+        return droppedEvents.get();
+    }
+
+    void broadcast(String name, Object payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> event;
+        try {
+            event = SseEmitter.event()
+                .id(Long.toString(sequence.incrementAndGet()))
+                .name(name)
+                .data(objectMapper.writeValueAsString(payload))
+                .build();
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    private void close(Subscriber subscriber, boolean completeEmitter) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.completeEmitter = completeEmitter;
+            subscriber.closed = true;
+            // Make room for the wake-up even when the queue is full
+            subscriber.queue.clear();
+            subscriber.queue.offer(WAKE_UP);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(bufferSize);
+        private volatile boolean completeEmitter;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            while (!closed && !queue.offer(event)) {
+                droppedEvents.incrementAndGet();
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    log.warn("Disconnecting task event subscriber that fell {} events behind", bufferSize);
+                    close(this, true);
+                    return;
+                }
+                queue.poll();
+            }
+        }
+
+        void drain() {
+            try {
+                while (true) {
+                    Set<DataWithMediaType> event = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (closed) {
+                        if (completeEmitter) {
+                            emitter.complete();
+                        }
+                        return;
+                    }
+                    if (event == null) {
+                        // Idle connections get a comment so dead clients are noticed and proxies keep the stream open
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else {
+                        emitter.send(event);
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Task event subscriber went away: {}", ex.getMessage());
+                close(this, false);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                close(this, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published once when a task that is neither completed nor cancelled passes its due date.
+ */
+public record TaskOverdueEvent(Long id, LocalDateTime dueDate) {
+}
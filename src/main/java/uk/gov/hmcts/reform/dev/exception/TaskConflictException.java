@@ -0,0 +1,7 @@
+package uk.gov.hmcts.reform.dev.exception;
+
+public class TaskConflictException extends RuntimeException {
+    public TaskConflictException(Long id) {
+        super("Task with id " + id + " was modified concurrently");
+    }
+}
@@ -1,7 +1,11 @@
 package uk.gov.hmcts.reform.dev.exception;
 
+/**
+ * Thrown for every lookup of a missing id, which is routine traffic rather than a fault, so no stack trace is
+ * captured: the handler only ever reads the message.
+ */
 public class TaskNotFoundException extends RuntimeException {
     public TaskNotFoundException(Long id) {
-        super("Task not found with id " + id);
+        super("Task not found with id " + id, null, false, false);
     }
 }
@@ -0,0 +1,7 @@
+package uk.gov.hmcts.reform.dev.exception;
+
+public class TaskPreconditionFailedException extends RuntimeException {
+    public TaskPreconditionFailedException(Long id) {
+        super("Task with id " + id + " does not match If-Match");
+    }
+}
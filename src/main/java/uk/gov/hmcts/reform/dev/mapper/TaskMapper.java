@@ -5,9 +5,18 @@ import uk.gov.hmcts.reform.dev.enums.TaskEvent;
 import uk.gov.hmcts.reform.dev.enums.TaskStatus;
 import uk.gov.hmcts.reform.dev.models.Task;
 import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+import uk.gov.hmcts.reform.dev.service.TaskTransitionTable;
 
 @Component
 public class TaskMapper {
+
+    private final TaskTransitionTable transitionTable;
+
+    public TaskMapper(TaskTransitionTable transitionTable) {
+        this.transitionTable = transitionTable;
+    }
+
     public TaskDTO toDto(Task task) {
         if (task == null) {
             return null;
@@ -19,6 +28,43 @@ public class TaskMapper {
             .description(task.getDescription())
             .status(task.getStatus())
             .dueDate(task.getDueDate())
+            .version(task.getVersion())
+            .createdAt(task.getCreatedAt())
+            .build();
+    }
+
+    /**
+     * Copies only the requested fields; the task may itself have been read with a matching projection.
+     */
+    public TaskDTO toDto(Task task, TaskFields fields) {
+        if (task == null || fields.isAll()) {
+            return toDto(task);
+        }
+
+        return TaskDTO.builder()
+            .id(fields.includes("id") ? task.getId() : null)
+            .title(fields.includes("title") ? task.getTitle() : null)
+            .description(fields.includes("description") ? task.getDescription() : null)
+            .status(fields.includes("status") ? task.getStatus() : null)
+            .dueDate(fields.includes("dueDate") ? task.getDueDate() : null)
+            .version(fields.includes("version") ? task.getVersion() : null)
+            .createdAt(fields.includes("createdAt") ? task.getCreatedAt() : null)
+            .build();
+    }
+
+    public TaskDTO project(TaskDTO dto, TaskFields fields) {
+        if (dto == null || fields.isAll()) {
+            return dto;
+        }
+
+        return TaskDTO.builder()
+            .id(fields.includes("id") ? dto.id() : null)
+            .title(fields.includes("title") ? dto.title() : null)
+            .description(fields.includes("description") ? dto.description() : null)
+            .status(fields.includes("status") ? dto.status() : null)
+            .dueDate(fields.includes("dueDate") ? dto.dueDate() : null)
+            .version(fields.includes("version") ? dto.version() : null)
+            .createdAt(fields.includes("createdAt") ? dto.createdAt() : null)
             .build();
     }
 
@@ -43,17 +89,8 @@ public class TaskMapper {
         task.setStatus(dto.status());
     }
 
-    public static TaskEvent statusToEvent(TaskStatus current, TaskStatus target) {
-        if (current == TaskStatus.NEW && target == TaskStatus.IN_PROGRESS) {
-            return TaskEvent.START;
-        }
-        if (current == TaskStatus.IN_PROGRESS && target == TaskStatus.COMPLETED) {
-            return TaskEvent.COMPLETE;
-        }
-        if ((current == TaskStatus.NEW || current == TaskStatus.IN_PROGRESS) && target == TaskStatus.CANCELLED) {
-            return TaskEvent.CANCEL;
-        }
-        // Transition not allowed
-        return null;
+    public TaskEvent statusToEvent(TaskStatus current, TaskStatus target) {
+        // null when the transition is not allowed
+        return transitionTable.eventFor(current, target);
     }
 }
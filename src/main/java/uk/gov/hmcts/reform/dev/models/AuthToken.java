@@ -0,0 +1,8 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import java.time.Instant;
+
+public record AuthToken(
+    String token,
+    Instant expiresAt) {
+}
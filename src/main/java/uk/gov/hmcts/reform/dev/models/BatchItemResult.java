@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.dev.models;
+
+public record BatchItemResult(
+    int index,
+    Long id,
+    boolean success,
+    String error) {
+
+    public static BatchItemResult succeeded(int index, Long id) {
+        return new BatchItemResult(index, id, true, null);
+    }
+
+    public static BatchItemResult failed(int index, Long id, String error) {
+        return new BatchItemResult(index, id, false, error);
+    }
+}
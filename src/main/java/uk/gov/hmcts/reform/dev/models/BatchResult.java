@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import java.util.Arrays;
+import java.util.List;
+
+public record BatchResult(
+    int succeeded,
+    int failed,
+    List<BatchItemResult> items) {
+
+    public static BatchResult of(BatchItemResult... items) {
+        int succeeded = (int) Arrays.stream(items).filter(BatchItemResult::success).count();
+        return new BatchResult(succeeded, items.length - succeeded, List.of(items));
+    }
+}
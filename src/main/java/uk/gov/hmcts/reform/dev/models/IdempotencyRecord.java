@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One {@code Idempotency-Key} seen by {@code POST /task}. The record is inserted when a request claims the key and
+ * gets its {@code response} when the task has been created; until then another request with the key waits. Mongo
+ * deletes the record once {@code expiresAt} has passed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    @Id
+    private String key;
+    private String fingerprint;
+    private TaskDTO response;
+    private Instant claimedAt;
+    @Indexed(name = "expiresAt_ttl", expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
@@ -5,9 +5,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import uk.gov.hmcts.reform.dev.enums.TaskStatus;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Data
@@ -15,6 +19,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Document(collection = "task")
+@CompoundIndex(name = "status_dueDate", def = "{'status': 1, 'dueDate': 1}")
 public class Task {
     @Id
     private Long id;
@@ -22,5 +27,10 @@ public class Task {
     private String description;
     @Builder.Default
     private TaskStatus status = TaskStatus.NEW; // Default status
+    @Indexed(name = "dueDate")
     private LocalDateTime dueDate;
+    @Version
+    private Long version;
+    // Tells a task apart from an earlier one that was deleted and re-created with the same id
+    private Instant createdAt;
 }
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import uk.gov.hmcts.reform.dev.enums.TaskStatus;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Builder
@@ -18,5 +19,8 @@ public record TaskDTO(
     String description,
     TaskStatus status,
     @Future(message = "Due date must be in the future")
-    LocalDateTime dueDate){
+    LocalDateTime dueDate,
+    Long version,
+    // Set by the service on create; a value sent by the client is ignored
+    Instant createdAt){
 }
@@ -0,0 +1,54 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import uk.gov.hmcts.reform.dev.exception.InvalidQueryParameterException;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Sparse fieldset requested with {@code fields=id,status,dueDate}. Drives both the Mongo projection and which
+ * {@link TaskDTO} components are populated, so unrequested fields are neither read nor serialized.
+ */
+public record TaskFields(Set<String> names) {
+
+    public static final Set<String> ALLOWED = Set.of("id", "title", "description", "status", "dueDate", "version",
+                                                       "createdAt");
+    public static final TaskFields ALL = new TaskFields(ALLOWED);
+
+    /**
+     * Serialization view for a response projected to a fieldset. Null fields are omitted under it, since they are
+     * the ones left out; every other response writes them as {@code null}.
+     */
+    public interface Sparse {
+    }
+
+    public TaskFields {
+        names = Set.copyOf(names);
+    }
+
+    /**
+     * Parses a comma-separated field list; {@code null} or blank selects every field.
+     */
+    public static TaskFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!ALLOWED.contains(name)) {
+                throw new InvalidQueryParameterException("Unknown field '" + name + "'; expected any of " + ALLOWED);
+            }
+            names.add(name);
+        }
+        return new TaskFields(names);
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    public boolean isAll() {
+        return names.containsAll(ALLOWED);
+    }
+}
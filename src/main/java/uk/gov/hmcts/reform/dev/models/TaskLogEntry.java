@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import uk.gov.hmcts.reform.dev.enums.TaskChangeType;
+import uk.gov.hmcts.reform.dev.enums.TaskEvent;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * One change to a task, appended to the task log. A creation carries the whole task, creation time included, a
+ * status change the event, new status and new version, and a deletion only the task id. Entries are never updated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "task_log")
+@CompoundIndex(name = "taskId_id", def = "{'taskId': 1, '_id': 1}")
+public class TaskLogEntry {
+    @Id
+    private String id;
+    private Long taskId;
+    private TaskChangeType type;
+    private TaskEvent event;
+    private TaskStatus status;
+    private String title;
+    private String description;
+    private LocalDateTime dueDate;
+    private Long version;
+    private Instant createdAt;
+    private Instant recordedAt;
+}
@@ -0,0 +1,8 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import java.util.List;
+
+public record TaskPage(
+    List<TaskDTO> items,
+    String nextCursor) {
+}
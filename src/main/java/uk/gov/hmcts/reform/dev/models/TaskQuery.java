@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import lombok.Builder;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Server-side filter for task listings. {@code dueAfter} is inclusive, {@code dueBefore} exclusive, and
+ * {@code sort} is a comma-separated list of fields, each optionally prefixed with {@code -} for descending order.
+ * {@code fields} limits which fields are read and returned; {@code null} means all of them.
+ */
+@Builder
+public record TaskQuery(
+    TaskStatus status,
+    LocalDateTime dueAfter,
+    LocalDateTime dueBefore,
+    String sort,
+    TaskFields fields) {
+
+    public TaskQuery(TaskStatus status, LocalDateTime dueAfter, LocalDateTime dueBefore, String sort) {
+        this(status, dueAfter, dueBefore, sort, TaskFields.ALL);
+    }
+
+    public TaskQuery {
+        fields = fields != null ? fields : TaskFields.ALL;
+    }
+
+    public boolean isEmpty() {
+        return status == null && dueAfter == null && dueBefore == null && (sort == null || sort.isBlank())
+            && fields.isAll();
+    }
+}
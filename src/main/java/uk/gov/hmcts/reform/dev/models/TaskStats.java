@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * Task counts per status. {@code overdue} counts open tasks past their due date, and is left out when overdue
+ * tracking is turned off.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskStats(
+    Map<TaskStatus, Long> byStatus,
+    long total,
+    Integer overdue) {
+}
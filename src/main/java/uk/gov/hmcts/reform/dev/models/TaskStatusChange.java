@@ -0,0 +1,9 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+
+public record TaskStatusChange(
+    Long id,
+    TaskStatus status,
+    Long version) {
+}
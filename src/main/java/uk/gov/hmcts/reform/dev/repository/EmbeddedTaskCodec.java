@@ -0,0 +1,164 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary framing shared by the embedded engine's write log and snapshots. A frame is
+ * {@code [int length][int crc32c][byte op][body]}; the checksum covers op and body, so a frame torn by a crash
+ * is detected and never replayed.
+ */
+final class EmbeddedTaskCodec {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    static final byte END = 3;
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    // Far above any real task; a torn length field must not make recovery allocate gigabytes
+    private static final int MAX_FRAME_BYTES = 1 << 20;
+
+    private EmbeddedTaskCodec() {
+        // private constructor to prevent instantiation
+    }
+
+    static ByteBuffer put(Task task) {
+        return frame(PUT, out -> writeTask(out, task));
+    }
+
+    static ByteBuffer delete(long id) {
+        return frame(DELETE, out -> out.writeLong(id));
+    }
+
+    static ByteBuffer end(long count) {
+        return frame(END, out -> out.writeLong(count));
+    }
+
+    /**
+     * Reads the next frame, or returns {@code null} at a clean end of stream or at a torn or corrupt frame.
+     */
+    static Frame read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        byte[] payload;
+        try {
+            int length = data.readInt();
+            int checksum = data.readInt();
+            if (length <= 0 || length > MAX_FRAME_BYTES) {
+                return null;
+            }
+            payload = data.readNBytes(length);
+            if (payload.length < length || checksum(payload) != checksum) {
+                return null;
+            }
+        } catch (EOFException ex) {
+            return null;
+        }
+        DataInputStream body = new DataInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1));
+        return switch (payload[0]) {
+            case PUT -> new Frame(PUT, readTask(body), 0, HEADER_BYTES + payload.length);
+            case DELETE, END -> new Frame(payload[0], null, body.readLong(), HEADER_BYTES + payload.length);
+            default -> null;
+        };
+    }
+
+    record Frame(byte op, Task task, long value, int size) {
+    }
+
+    private static ByteBuffer frame(byte op, BodyWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(op);
+            writer.write(out);
+            byte[] frame = bytes.toByteArray();
+            ByteBuffer buffer = ByteBuffer.wrap(frame);
+            int length = frame.length - HEADER_BYTES;
+            buffer.putInt(0, length);
+            buffer.putInt(Integer.BYTES, checksum(frame, HEADER_BYTES, length));
+            return buffer;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        out.writeLong(task.getId());
+        out.writeLong(task.getVersion() == null ? -1 : task.getVersion());
+        writeNullable(out, task.getTitle());
+        writeNullable(out, task.getDescription());
+        writeNullable(out, task.getStatus() == null ? null : task.getStatus().name());
+        LocalDateTime dueDate = task.getDueDate();
+        out.writeBoolean(dueDate != null);
+        if (dueDate != null) {
+            out.writeLong(dueDate.toLocalDate().toEpochDay());
+            out.writeLong(dueDate.toLocalTime().toNanoOfDay());
+        }
+        out.writeBoolean(task.getCreatedAt() != null);
+        if (task.getCreatedAt() != null) {
+            out.writeLong(task.getCreatedAt().toEpochMilli());
+        }
+    }
+
+    private static Task readTask(DataInputStream in) throws IOException {
+        Task task = new Task();
+        task.setId(in.readLong());
+        long version = in.readLong();
+        task.setVersion(version < 0 ? null : version);
+        task.setTitle(readNullable(in));
+        task.setDescription(readNullable(in));
+        String status = readNullable(in);
+        task.setStatus(status == null ? null : TaskStatus.valueOf(status));
+        if (in.readBoolean()) {
+            LocalDate date = LocalDate.ofEpochDay(in.readLong());
+            task.setDueDate(LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readLong())));
+        }
+        // Frames written before tasks carried a creation time end here
+        if (in.available() > 0 && in.readBoolean()) {
+            task.setCreatedAt(Instant.ofEpochMilli(in.readLong()));
+        }
+        return task;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static int checksum(byte[] bytes) {
+        return checksum(bytes, 0, bytes.length);
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,162 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Append-only write log with group commit. Writers enqueue frames and wait on a future. A single committer
+ * thread takes everything queued so far, writes it with one gathering write and one {@code fsync}, then
+ * completes every waiting writer at once. Under load many writers share each {@code fsync}; a lone writer pays
+ * exactly one.
+ */
+@Slf4j
+final class EmbeddedTaskLog implements Closeable {
+
+    private static final int MAX_BATCH = 4096;
+    private static final Entry STOP = new Entry(List.of(), -1);
+
+    private final Path directory;
+    private final boolean fsync;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private FileChannel channel;
+    private volatile IOException failure;
+
+    EmbeddedTaskLog(Path directory, long generation, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.channel = open(generation);
+        this.committer = Thread.ofPlatform().name("embedded-task-log").daemon().start(this::commitLoop);
+    }
+
+    static Path segment(Path directory, long generation) {
+        return directory.resolve("wal-" + generation + ".log");
+    }
+
+    /**
+     * Queues frames for the log. They are written in the order of calls to this method, so callers serialise
+     * their calls in the same order as the writes they describe.
+     *
+     * @return a future completed once the frames are on disk, or exceptionally if the log has failed
+     */
+    CompletableFuture<Void> append(List<ByteBuffer> frames) {
+        return enqueue(new Entry(frames, -1));
+    }
+
+    /**
+     * Starts a new segment for {@code generation}; frames appended after this call go to the new segment.
+     */
+    CompletableFuture<Void> rotate(long generation) {
+        return enqueue(new Entry(List.of(), generation));
+    }
+
+    /**
+     * Commits everything already appended, then stops the committer. Appends after this call never complete.
+     */
+    @Override
+    public void close() {
+        // A marker rather than an interrupt: interrupting a thread inside FileChannel.write closes the channel
+        queue.add(STOP);
+        try {
+            committer.join();
+            channel.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            log.warn("Failed to close task log", ex);
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(Entry entry) {
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        queue.add(entry);
+        return entry.done;
+    }
+
+    private void commitLoop() {
+        List<Entry> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            boolean stop = batch.remove(STOP);
+            commit(batch);
+            batch.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void commit(List<Entry> batch) {
+        if (failure != null) {
+            batch.forEach(entry -> entry.done.completeExceptionally(failure));
+            return;
+        }
+        int from = 0;
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                Entry entry = batch.get(i);
+                if (entry.rotateTo >= 0) {
+                    write(batch.subList(from, i));
+                    channel.close();
+                    channel = open(entry.rotateTo);
+                    from = i;
+                }
+            }
+            write(batch.subList(from, batch.size()));
+            batch.forEach(entry -> entry.done.complete(null));
+        } catch (IOException ex) {
+            log.error("Task log write failed; the embedded store no longer accepts writes", ex);
+            failure = ex;
+            batch.forEach(entry -> entry.done.completeExceptionally(ex));
+        }
+    }
+
+    private void write(List<Entry> entries) throws IOException {
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (Entry entry : entries) {
+            for (ByteBuffer frame : entry.frames) {
+                buffers.add(frame.duplicate());
+            }
+        }
+        if (buffers.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] array = buffers.toArray(ByteBuffer[]::new);
+        ByteBuffer last = array[array.length - 1];
+        while (last.hasRemaining()) {
+            channel.write(array);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    private FileChannel open(long generation) throws IOException {
+        return FileChannel.open(segment(directory, generation), StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private record Entry(List<ByteBuffer> frames, long rotateTo, CompletableFuture<Void> done) {
+        Entry(List<ByteBuffer> frames, long rotateTo) {
+            this(frames, rotateTo, new CompletableFuture<>());
+        }
+    }
+}
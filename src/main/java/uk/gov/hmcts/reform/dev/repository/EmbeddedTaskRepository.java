@@ -0,0 +1,633 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.util.LongObjectHashMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * {@link TaskStore} kept entirely in memory, for the {@code embedded} profile. Tasks live in a
+ * {@link LongObjectHashMap} keyed by the primitive id, with a sorted set of the ids alongside for paging in id
+ * order. Every write is appended to an {@link EmbeddedTaskLog}
+ * and returns once that append is on disk. A periodic snapshot compacts the log: it writes the whole map to a
+ * new snapshot file and deletes the log segments the snapshot covers. On startup the latest snapshot is loaded
+ * and the newer segments are replayed.
+ *
+ * <p>Stored tasks are never handed out; reads return copies and writes store copies, so callers can keep
+ * mutating the entities they hold exactly as they do with Mongo. Readers may see a write a moment before it is
+ * durable, but its caller does not return until it is.
+ */
+@Slf4j
+@Repository
+@Profile("embedded")
+public class EmbeddedTaskRepository implements TaskStore {
+
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)\\.dat");
+    private static final Pattern SEGMENT = Pattern.compile("wal-(\\d+)\\.log");
+    private static final int STREAM_CHUNK = 1000;
+
+    private final Path directory;
+    private final LongObjectHashMap<Task> tasks = new LongObjectHashMap<>(1024);
+    private final NavigableSet<Long> orderedIds = new TreeSet<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong highestId = new AtomicLong();
+    private final EmbeddedTaskLog writeLog;
+    private long generation;
+    private long writesSinceSnapshot;
+
+    @Autowired
+    public EmbeddedTaskRepository(@Value("${task.embedded.directory:./data/tasks}") Path directory,
+                                  @Value("${task.embedded.fsync:true}") boolean fsync) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        recover();
+        this.writeLog = new EmbeddedTaskLog(directory, generation, fsync);
+    }
+
+    /**
+     * Returns an id above every id stored so far.
+     */
+    public long nextId() {
+        return highestId.incrementAndGet();
+    }
+
+    // ---- TaskStore ----------------------------------------------------------------------------------------------
+
+    @Override
+    public <S extends Task> S save(S entity) {
+        write(frames -> frames.add(store(versioned(entity))));
+        return entity;
+    }
+
+    @Override
+    public <S extends Task> S insert(S entity) {
+        write(frames -> frames.add(store(inserted(entity))));
+        return entity;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return read(() -> Optional.ofNullable(copy(tasks.get(id))));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return read(() -> copies(tasks.values()));
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        return read(() -> {
+            List<Task> found = new ArrayList<>();
+            ids.forEach(id -> {
+                Task task = tasks.get(id);
+                if (task != null) {
+                    found.add(copy(task));
+                }
+            });
+            return found;
+        });
+    }
+
+    @Override
+    public List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        return read(() -> {
+            List<Task> page = new ArrayList<>(Math.min(max, STREAM_CHUNK));
+            Iterator<Long> after = orderedIds.tailSet(id, false).iterator();
+            while (after.hasNext() && page.size() < max) {
+                page.add(copy(tasks.get(after.next())));
+            }
+            return page;
+        });
+    }
+
+    @Override
+    public Stream<Task> streamAllBy() {
+        return chunks(Function.identity());
+    }
+
+    @Override
+    public Stream<Task> streamIdsBy() {
+        return chunks(page -> {
+            List<Task> onlyIds = new ArrayList<>(page.size());
+            page.forEach(task -> onlyIds.add(Task.builder().id(task.getId()).build()));
+            return onlyIds;
+        });
+    }
+
+    @Override
+    public Stream<Task> streamDueTasksByStatusNotIn(Collection<TaskStatus> statuses) {
+        return chunks(page -> {
+            page.removeIf(task -> task.getDueDate() == null || statuses.contains(task.getStatus()));
+            return page;
+        });
+    }
+
+    /**
+     * Returns a number that grows with every change to the store and survives restarts: the snapshot generation
+     * in the high bits and the log records written since that snapshot in the low bits. A crash recovers the same
+     * value, since the log replays exactly the records that were durable.
+     */
+    public long changeSequence() {
+        return read(() -> (generation << 32) + writesSinceSnapshot);
+    }
+
+    /**
+     * Returns the number of stored tasks.
+     */
+    public int size() {
+        return read(tasks::size);
+    }
+
+    // ---- TaskRepositoryCustom ------------------------------------------------------------------------------
+
+    @Override
+    public Optional<Task> compareAndSetStatus(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                              TaskStatus target) {
+        List<Task> previous = new ArrayList<>(1);
+        write(frames -> {
+            Task current = tasks.get(id);
+            if (current != null && expectedStatuses.contains(current.getStatus())
+                && (expectedVersion == null || expectedVersion.equals(current.getVersion()))) {
+                previous.add(copy(current));
+                frames.add(store(withStatus(current, target)));
+            }
+        });
+        return previous.stream().findFirst();
+    }
+
+    @Override
+    public List<Task> findByQuery(TaskQuery query) {
+        List<Task> found = filter(task -> matches(task, query));
+        found.sort(comparator(TaskRepositoryCustomImpl.toSort(query.sort())));
+        return found;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id, TaskFields fields) {
+        // Everything is already in memory, so there is nothing to save by projecting; the mapper drops the rest
+        return findById(id);
+    }
+
+    @Override
+    public Map<Integer, String> insertAllUnordered(List<Task> tasksToInsert) {
+        Map<Integer, String> failures = new HashMap<>();
+        write(frames -> {
+            for (int i = 0; i < tasksToInsert.size(); i++) {
+                Task task = tasksToInsert.get(i);
+                if (tasks.containsKey(task.getId())) {
+                    failures.put(i, "Task already exists with id " + task.getId());
+                } else {
+                    frames.add(store(copy(task)));
+                }
+            }
+        });
+        return failures;
+    }
+
+    @Override
+    public List<Task> findStatusesByIdIn(Collection<Long> ids) {
+        return findAllById(ids);
+    }
+
+    @Override
+    public int compareAndSetStatuses(List<TaskStatusUpdate> updates) {
+        int[] matched = new int[1];
+        write(frames -> {
+            for (TaskStatusUpdate update : updates) {
+                Task current = tasks.get(update.id());
+                if (current != null && Objects.equals(update.expectedVersion(), current.getVersion())) {
+                    frames.add(store(withStatus(current, update.target())));
+                    matched[0]++;
+                }
+            }
+        });
+        return matched[0];
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        return read(() -> {
+            Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+            tasks.forEach((id, task) -> {
+                if (task.getStatus() != null) {
+                    counts.merge(task.getStatus(), 1L, Long::sum);
+                }
+            });
+            return counts;
+        });
+    }
+
+    @Override
+    public Optional<Task> removeById(Long id) {
+        List<Task> removed = new ArrayList<>(1);
+        write(frames -> {
+            Task current = tasks.get(id);
+            if (current != null) {
+                removed.add(copy(current));
+                remove(id, frames);
+            }
+        });
+        return removed.stream().findFirst();
+    }
+
+    // ---- Snapshots and recovery --------------------------------------------------------------------------------
+
+    /**
+     * Writes every task to a new snapshot and deletes the log segments and snapshots it supersedes. Writers are
+     * only blocked while the map is copied and the log is switched to a new segment. Runs every
+     * {@code task.embedded.snapshot-interval} and at shutdown.
+     */
+    @Scheduled(fixedDelayString = "${task.embedded.snapshot-interval:5m}",
+               initialDelayString = "${task.embedded.snapshot-interval:5m}")
+    public void snapshot() throws IOException {
+        long snapshotGeneration;
+        List<Task> contents;
+        CompletableFuture<Void> rotated;
+        lock.writeLock().lock();
+        try {
+            if (writesSinceSnapshot == 0) {
+                return;
+            }
+            snapshotGeneration = ++generation;
+            // Stored tasks are never mutated in place, so the references can be serialised after unlocking
+            contents = tasks.values();
+            rotated = writeLog.rotate(snapshotGeneration);
+            writesSinceSnapshot = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Path temporary = directory.resolve("snapshot-" + snapshotGeneration + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16)) {
+            for (Task task : contents) {
+                write(out, EmbeddedTaskCodec.put(task));
+            }
+            write(out, EmbeddedTaskCodec.end(contents.size()));
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, snapshotPath(snapshotGeneration), StandardCopyOption.ATOMIC_MOVE);
+        awaitDurable(rotated);
+        deleteBefore(snapshotGeneration);
+        log.info("Embedded task snapshot {} written with {} tasks", snapshotGeneration, contents.size());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        snapshot();
+        writeLog.close();
+    }
+
+    private void recover() throws IOException {
+        TreeMap<Long, Path> snapshots = list(SNAPSHOT);
+        TreeMap<Long, Path> segments = list(SEGMENT);
+        long snapshotGeneration = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+        if (!snapshots.isEmpty()) {
+            loadSnapshot(snapshots.lastEntry().getValue());
+        }
+        long replayed = 0;
+        for (Map.Entry<Long, Path> segment : segments.tailMap(snapshotGeneration, true).entrySet()) {
+            replayed += replay(segment.getValue());
+        }
+        generation = Math.max(snapshotGeneration, segments.isEmpty() ? 0 : segments.lastKey());
+        writesSinceSnapshot = replayed;
+        try (Stream<Path> leftovers = Files.list(directory)) {
+            for (Path path : leftovers.filter(path -> path.toString().endsWith(".tmp")).toList()) {
+                Files.delete(path);
+            }
+        }
+        log.info("Embedded task store recovered {} tasks from snapshot {} and {} log records",
+                 tasks.size(), snapshotGeneration, replayed);
+    }
+
+    private void loadSnapshot(Path snapshot) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16)) {
+            while (true) {
+                EmbeddedTaskCodec.Frame frame = EmbeddedTaskCodec.read(in);
+                if (frame == null) {
+                    // Snapshots are renamed into place only when complete, so this is real corruption
+                    throw new IllegalStateException("Snapshot " + snapshot + " is corrupt");
+                }
+                if (frame.op() == EmbeddedTaskCodec.END) {
+                    return;
+                }
+                apply(frame);
+            }
+        }
+    }
+
+    /**
+     * Replays a log segment, truncating it at the first torn or corrupt frame: anything after that point was
+     * never acknowledged to a caller.
+     */
+    private long replay(Path segment) throws IOException {
+        long records = 0;
+        long validBytes = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(segment), 1 << 16)) {
+            EmbeddedTaskCodec.Frame frame;
+            while ((frame = EmbeddedTaskCodec.read(in)) != null) {
+                apply(frame);
+                validBytes += frame.size();
+                records++;
+            }
+        }
+        if (validBytes < Files.size(segment)) {
+            log.warn("Truncating torn tail of {} at byte {}", segment, validBytes);
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+                channel.force(true);
+            }
+        }
+        return records;
+    }
+
+    private void apply(EmbeddedTaskCodec.Frame frame) {
+        if (frame.op() == EmbeddedTaskCodec.PUT) {
+            tasks.put(frame.task().getId(), frame.task());
+            orderedIds.add(frame.task().getId());
+            highestId.accumulateAndGet(frame.task().getId(), Math::max);
+        } else if (frame.op() == EmbeddedTaskCodec.DELETE) {
+            tasks.remove(frame.value());
+            orderedIds.remove(frame.value());
+        }
+    }
+
+    private void deleteBefore(long keepGeneration) throws IOException {
+        for (Map.Entry<Long, Path> segment : list(SEGMENT).headMap(keepGeneration).entrySet()) {
+            Files.deleteIfExists(segment.getValue());
+        }
+        for (Map.Entry<Long, Path> snapshot : list(SNAPSHOT).headMap(keepGeneration).entrySet()) {
+            Files.deleteIfExists(snapshot.getValue());
+        }
+    }
+
+    private TreeMap<Long, Path> list(Pattern pattern) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                Matcher matcher = pattern.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), path);
+                }
+            });
+        }
+        return files;
+    }
+
+    private Path snapshotPath(long snapshotGeneration) {
+        return directory.resolve("snapshot-" + snapshotGeneration + ".dat");
+    }
+
+    // ---- Helpers ------------------------------------------------------------------------------------------------
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a change under the write lock and queues the log frames it produced before unlocking, so the log
+     * order always matches the order changes were applied in. Frames are logged even when the change fails part
+     * way through, since the map already holds what came before the failure. Waits for durability after unlocking
+     * so concurrent writers can share one {@code fsync}.
+     */
+    private void write(Consumer<List<ByteBuffer>> change) {
+        List<ByteBuffer> frames = new ArrayList<>();
+        CompletableFuture<Void> durable = null;
+        RuntimeException failure = null;
+        lock.writeLock().lock();
+        try {
+            try {
+                change.accept(frames);
+            } catch (RuntimeException ex) {
+                failure = ex;
+            }
+            if (!frames.isEmpty()) {
+                writesSinceSnapshot += frames.size();
+                durable = writeLog.append(frames);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (durable != null) {
+            awaitDurable(durable);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void awaitDurable(CompletableFuture<Void> durable) {
+        try {
+            durable.join();
+        } catch (CompletionException ex) {
+            throw new DataAccessResourceFailureException("Failed to write the embedded task log", ex.getCause());
+        }
+    }
+
+    /**
+     * Applies Spring Data's optimistic locking rules: a task without a version is new and gets version 0, and a
+     * task with one must match the stored version, which is then incremented.
+     */
+    private Task versioned(Task entity) {
+        requireId(entity);
+        Task current = tasks.get(entity.getId());
+        if (entity.getVersion() == null) {
+            if (current != null) {
+                throw new DuplicateKeyException("Task already exists with id " + entity.getId());
+            }
+            entity.setVersion(0L);
+        } else {
+            if (current == null || !entity.getVersion().equals(current.getVersion())) {
+                throw new OptimisticLockingFailureException("Task with id " + entity.getId()
+                                                                + " was modified concurrently");
+            }
+            entity.setVersion(entity.getVersion() + 1);
+        }
+        return copy(entity);
+    }
+
+    private Task inserted(Task entity) {
+        requireId(entity);
+        if (tasks.containsKey(entity.getId())) {
+            throw new DuplicateKeyException("Task already exists with id " + entity.getId());
+        }
+        if (entity.getVersion() == null) {
+            entity.setVersion(0L);
+        }
+        return copy(entity);
+    }
+
+    private ByteBuffer store(Task task) {
+        tasks.put(task.getId(), task);
+        orderedIds.add(task.getId());
+        highestId.accumulateAndGet(task.getId(), Math::max);
+        return EmbeddedTaskCodec.put(task);
+    }
+
+    private void remove(long id, List<ByteBuffer> frames) {
+        if (tasks.remove(id) != null) {
+            orderedIds.remove(id);
+            frames.add(EmbeddedTaskCodec.delete(id));
+        }
+    }
+
+    private static void requireId(Task entity) {
+        if (entity.getId() == null) {
+            throw new InvalidDataAccessApiUsageException("Task id must be assigned before saving");
+        }
+    }
+
+    /**
+     * Pages through the tasks in id order, {@value #STREAM_CHUNK} at a time, taking the read lock once per page
+     * rather than copying the whole store up front. Like a Mongo cursor, a task written while the stream is open may
+     * or may not be seen.
+     */
+    private Stream<Task> chunks(Function<List<Task>, List<Task>> perPage) {
+        Limit chunk = Limit.of(STREAM_CHUNK);
+        return Stream.iterate(findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, chunk), page -> !page.isEmpty(),
+                              page -> findByIdGreaterThanOrderByIdAsc(page.get(page.size() - 1).getId(), chunk))
+            .flatMap(page -> perPage.apply(page).stream());
+    }
+
+    private List<Task> filter(Predicate<Task> predicate) {
+        return read(() -> {
+            List<Task> found = new ArrayList<>();
+            tasks.forEach((id, task) -> {
+                if (predicate.test(task)) {
+                    found.add(copy(task));
+                }
+            });
+            return found;
+        });
+    }
+
+    /**
+     * Mirrors the Mongo criteria: a bound on the due date never matches a task without one.
+     */
+    private static boolean matches(Task task, TaskQuery query) {
+        LocalDateTime dueDate = task.getDueDate();
+        return (query.status() == null || query.status() == task.getStatus())
+            && (query.dueAfter() == null || dueDate != null && !dueDate.isBefore(query.dueAfter()))
+            && (query.dueBefore() == null || dueDate != null && dueDate.isBefore(query.dueBefore()));
+    }
+
+    private static Task withStatus(Task current, TaskStatus status) {
+        Task updated = copy(current);
+        updated.setStatus(status);
+        updated.setVersion(current.getVersion() == null ? 1L : current.getVersion() + 1);
+        return updated;
+    }
+
+    private static Task copy(Task task) {
+        if (task == null) {
+            return null;
+        }
+        return Task.builder()
+            .id(task.getId())
+            .title(task.getTitle())
+            .description(task.getDescription())
+            .status(task.getStatus())
+            .dueDate(task.getDueDate())
+            .version(task.getVersion())
+            .createdAt(task.getCreatedAt())
+            .build();
+    }
+
+    private static List<Task> copies(List<Task> stored) {
+        List<Task> result = new ArrayList<>(stored.size());
+        for (Task task : stored) {
+            result.add(copy(task));
+        }
+        return result;
+    }
+
+    private static Comparator<Task> comparator(Sort sort) {
+        Comparator<Task> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Task> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(Task::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "title" -> Comparator.comparing(Task::getTitle,
+                                                     Comparator.nullsFirst(Comparator.naturalOrder()));
+                // Mongo stores the enum by name, so sort by name to return the same order
+                case "status" -> Comparator.comparing(EmbeddedTaskRepository::statusName,
+                                                      Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "dueDate" -> Comparator.comparing(Task::getDueDate,
+                                                       Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "version" -> Comparator.comparing(Task::getVersion,
+                                                       Comparator.nullsFirst(Comparator.naturalOrder()));
+                default -> throw new InvalidDataAccessApiUsageException("Cannot sort by " + order.getProperty());
+            };
+            comparator = comparator.thenComparing(order.isDescending() ? next.reversed() : next);
+        }
+        return comparator;
+    }
+
+    private static String statusName(Task task) {
+        return task.getStatus() == null ? null : task.getStatus().name();
+    }
+
+    private static void write(OutputStream out, ByteBuffer frame) throws IOException {
+        out.write(frame.array(), frame.arrayOffset(), frame.limit());
+    }
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+@Repository
+public interface ReactiveTaskRepository extends ReactiveMongoRepository<Task, Long>, ReactiveTaskRepositoryCustom {
+
+    Flux<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Deletes the task and emits how many were deleted, 0 or 1, so a missing id costs no extra round trip.
+     */
+    Mono<Long> removeById(Long id);
+}
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.Collection;
+
+public interface ReactiveTaskRepositoryCustom {
+
+    /**
+     * Non-blocking counterpart of {@link TaskRepositoryCustom#compareAndSetStatus}.
+     *
+     * @return the task as it was before the update, or empty when no document matched the filter
+     */
+    Mono<Task> compareAndSetStatus(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                   TaskStatus target);
+}
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.Collection;
+
+public class ReactiveTaskRepositoryCustomImpl implements ReactiveTaskRepositoryCustom {
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    public ReactiveTaskRepositoryCustomImpl(ReactiveMongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public Mono<Task> compareAndSetStatus(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                          TaskStatus target) {
+        Criteria criteria = Criteria.where("id").is(id).and("status").in(expectedStatuses);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        Update update = new Update()
+            .set("status", target)
+            .inc("version", 1);
+        return mongoOperations.findAndModify(
+            Query.query(criteria), update, FindAndModifyOptions.options().returnNew(false), Task.class);
+    }
+}
@@ -0,0 +1,48 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.models.IdempotencyRecord;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskLogEntry;
+
+/**
+ * Creates the indexes declared on {@link Task}, {@link TaskLogEntry} and {@link IdempotencyRecord} at startup;
+ * Spring Boot leaves automatic index creation off. Creating an index that already exists is a no-op, so this is
+ * safe on every instance and every restart.
+ */
+@Slf4j
+@Component
+@Profile("!embedded")
+public class TaskIndexInitializer {
+
+    private final MongoTemplate mongoTemplate;
+
+    public TaskIndexInitializer(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        ensureIndexes(Task.class);
+        ensureIndexes(TaskLogEntry.class);
+        ensureIndexes(IdempotencyRecord.class);
+    }
+
+    private void ensureIndexes(Class<?> documentType) {
+        IndexOperations indexOperations = mongoTemplate.indexOps(documentType);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+            .resolveIndexFor(documentType)
+            .forEach(index -> {
+                indexOperations.ensureIndex(index);
+                log.info("Ensured index {} on {} collection", index.getIndexKeys().toJson(),
+                         mongoTemplate.getCollectionName(documentType));
+            });
+    }
+}
@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.dev.models.TaskLogEntry;
+
+import java.util.List;
+
+@Repository
+public interface TaskLogRepository extends MongoRepository<TaskLogEntry, String> {
+
+    /**
+     * Returns a task's log in the order it was appended, served by the {@code taskId_id} index.
+     */
+    List<TaskLogEntry> findByTaskIdOrderByIdAsc(Long taskId);
+}
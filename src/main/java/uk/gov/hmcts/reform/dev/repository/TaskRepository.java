@@ -1,9 +1,30 @@
 package uk.gov.hmcts.reform.dev.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
 import uk.gov.hmcts.reform.dev.models.Task;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends MongoRepository<Task, Long> {
+public interface TaskRepository extends MongoRepository<Task, Long>, TaskStore {
+
+    @Override
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Override
+    Stream<Task> streamAllBy();
+
+    @Override
+    @Query(value = "{}", fields = "{ '_id': 1 }")
+    Stream<Task> streamIdsBy();
+
+    @Override
+    @Query(value = "{ 'status': { $nin: ?0 }, 'dueDate': { $ne: null } }", fields = "{ 'status': 1, 'dueDate': 1 }")
+    Stream<Task> streamDueTasksByStatusNotIn(Collection<TaskStatus> statuses);
 }
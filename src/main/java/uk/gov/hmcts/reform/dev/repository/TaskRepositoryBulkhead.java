@@ -0,0 +1,107 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of {@link TaskRepository} calls in flight so a slow Mongo cannot hold every request thread.
+ *
+ * <p>A call that finds all permits taken waits up to {@code max-wait} for one. While the moving average of call
+ * latency is over {@code latency-threshold} it does not wait at all: Mongo is already behind, and queueing would
+ * only turn a slow response into a timeout. Rejected calls surface as {@link ServiceOverloadedException} (503).
+ * Methods returning a {@code Stream} hold their permit only while the cursor is opened.
+ */
+@Aspect
+@Component
+@Profile("!embedded")
+@ConditionalOnProperty(prefix = "task.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskRepositoryBulkhead {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final long latencyThresholdNanos;
+    private final Ticker ticker;
+    private final AtomicLong averageLatencyNanos = new AtomicLong();
+    private final Counter rejected;
+
+    @Autowired
+    public TaskRepositoryBulkhead(@Value("${task.bulkhead.max-concurrent:50}") int maxConcurrent,
+                                  @Value("${task.bulkhead.max-wait:100ms}") Duration maxWait,
+                                  @Value("${task.bulkhead.latency-threshold:250ms}") Duration latencyThreshold,
+                                  MeterRegistry meterRegistry) {
+        this(maxConcurrent, maxWait, latencyThreshold, Ticker.systemTicker(), meterRegistry);
+    }
+
+    TaskRepositoryBulkhead(int maxConcurrent, Duration maxWait, Duration latencyThreshold, Ticker ticker,
+                           MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.ticker = ticker;
+        this.rejected = Counter.builder("task.bulkhead.rejected")
+            .description("Task repository calls rejected because Mongo was saturated")
+            .register(meterRegistry);
+        Gauge.builder("task.bulkhead.in.flight", permits, p -> maxConcurrent - p.availablePermits())
+            .description("Task repository calls currently in flight")
+            .register(meterRegistry);
+        Gauge.builder("task.bulkhead.latency", averageLatencyNanos, a -> a.get() / 1_000_000d)
+            .description("Moving average of task repository call latency in milliseconds")
+            .register(meterRegistry);
+    }
+
+    @Around("this(uk.gov.hmcts.reform.dev.repository.TaskRepository)")
+    public Object guard(ProceedingJoinPoint call) throws Throwable {
+        acquire(call);
+        long start = ticker.read();
+        try {
+            return call.proceed();
+        } finally {
+            record(ticker.read() - start);
+            permits.release();
+        }
+    }
+
+    boolean overloaded() {
+        return averageLatencyNanos.get() > latencyThresholdNanos;
+    }
+
+    private void acquire(ProceedingJoinPoint call) {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        try {
+            if (!overloaded() && permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new ServiceOverloadedException("Task store is overloaded, rejected " + call.getSignature().getName());
+    }
+
+    /**
+     * Folds one call's latency into an exponential moving average weighted 1/8. Concurrent updates may overwrite
+     * each other; the average only has to be roughly right to tell a healthy Mongo from a struggling one.
+     */
+    private void record(long latencyNanos) {
+        long average = averageLatencyNanos.get();
+        averageLatencyNanos.set(average + ((latencyNanos - average) >> 3));
+    }
+}
@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Atomically moves a task to {@code target} in one {@code findAndModify}, but only while its status is one of
+     * {@code expectedStatuses} and, when {@code expectedVersion} is given, its version still matches.
+     * Only {@code status} and {@code version} are written.
+     *
+     * @return the task as it was before the update, or empty when no document matched the filter
+     */
+    Optional<Task> compareAndSetStatus(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                       TaskStatus target);
+
+    /**
+     * Finds tasks matching {@code query}, filtered and sorted by Mongo using the status/dueDate indexes.
+     */
+    List<Task> findByQuery(TaskQuery query);
+
+    /**
+     * Reads a single task with only the requested fields projected by Mongo.
+     */
+    Optional<Task> findById(Long id, TaskFields fields);
+
+    /**
+     * Inserts all tasks in one unordered {@code bulkWrite}; one failing document does not stop the others.
+     *
+     * @return error messages keyed by the index of each task that was not inserted
+     */
+    Map<Integer, String> insertAllUnordered(List<Task> tasks);
+
+    /**
+     * Loads only {@code status} and {@code version} for the given ids.
+     */
+    List<Task> findStatusesByIdIn(Collection<Long> ids);
+
+    /**
+     * Applies every update in one unordered {@code bulkWrite}, each guarded by its expected version.
+     *
+     * @return the number of tasks that matched and were updated
+     */
+    int compareAndSetStatuses(List<TaskStatusUpdate> updates);
+
+    /**
+     * Counts tasks per status in one {@code $group} aggregation. Statuses without tasks are left out.
+     */
+    Map<TaskStatus, Long> countByStatus();
+
+    /**
+     * Deletes the task in one {@code findAndModify} and returns its status as it was, or empty when there was no
+     * task with that id.
+     */
+    Optional<Task> removeById(Long id);
+}
@@ -0,0 +1,172 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.exception.InvalidQueryParameterException;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "title", "status", "dueDate");
+
+    private final MongoOperations mongoOperations;
+
+    public TaskRepositoryCustomImpl(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public Optional<Task> compareAndSetStatus(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                              TaskStatus target) {
+        Criteria criteria = Criteria.where("id").is(id).and("status").in(expectedStatuses);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        Update update = new Update()
+            .set("status", target)
+            .inc("version", 1);
+        return Optional.ofNullable(mongoOperations.findAndModify(
+            Query.query(criteria), update, FindAndModifyOptions.options().returnNew(false), Task.class));
+    }
+
+    @Override
+    public List<Task> findByQuery(TaskQuery query) {
+        return mongoOperations.find(toQuery(query), Task.class);
+    }
+
+    static Query toQuery(TaskQuery taskQuery) {
+        Criteria criteria = new Criteria();
+        if (taskQuery.status() != null) {
+            criteria = criteria.and("status").is(taskQuery.status());
+        }
+        if (taskQuery.dueAfter() != null || taskQuery.dueBefore() != null) {
+            Criteria dueDate = criteria.and("dueDate");
+            if (taskQuery.dueAfter() != null) {
+                dueDate = dueDate.gte(taskQuery.dueAfter());
+            }
+            if (taskQuery.dueBefore() != null) {
+                dueDate.lt(taskQuery.dueBefore());
+            }
+        }
+        return project(Query.query(criteria).with(toSort(taskQuery.sort())), taskQuery.fields());
+    }
+
+    @Override
+    public Optional<Task> findById(Long id, TaskFields fields) {
+        return Optional.ofNullable(mongoOperations.findOne(project(Query.query(Criteria.where("id").is(id)), fields),
+                                                           Task.class));
+    }
+
+    @Override
+    public Optional<Task> removeById(Long id) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include("status");
+        return Optional.ofNullable(mongoOperations.findAndRemove(query, Task.class));
+    }
+
+    private static Query project(Query query, TaskFields fields) {
+        if (fields.isAll()) {
+            return query;
+        }
+        fields.names().forEach(query.fields()::include);
+        if (!fields.includes("id")) {
+            query.fields().exclude("id");
+        }
+        return query;
+    }
+
+    static Sort toSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String field : sort.split(",")) {
+            String name = field.trim();
+            boolean descending = name.startsWith("-");
+            if (descending) {
+                name = name.substring(1);
+            }
+            if (!SORTABLE_FIELDS.contains(name)) {
+                throw new InvalidQueryParameterException("Cannot sort by '" + field.trim() + "'; expected one of "
+                                                             + SORTABLE_FIELDS);
+            }
+            orders.add(descending ? Sort.Order.desc(name) : Sort.Order.asc(name));
+        }
+        return Sort.by(orders);
+    }
+
+    @Override
+    public Map<Integer, String> insertAllUnordered(List<Task> tasks) {
+        Map<Integer, String> failures = new HashMap<>();
+        if (tasks.isEmpty()) {
+            return failures;
+        }
+        try {
+            mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class)
+                .insert(tasks)
+                .execute();
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError error : ex.getErrors()) {
+                failures.put(error.getIndex(), error.getCode() == DUPLICATE_KEY
+                    ? "Task already exists with id " + tasks.get(error.getIndex()).getId()
+                    : error.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public List<Task> findStatusesByIdIn(Collection<Long> ids) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("status", "version");
+        return mongoOperations.find(query, Task.class);
+    }
+
+    @Override
+    public int compareAndSetStatuses(List<TaskStatusUpdate> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        for (TaskStatusUpdate update : updates) {
+            bulk.updateOne(
+                Query.query(Criteria.where("id").is(update.id()).and("version").is(update.expectedVersion())),
+                new Update().set("status", update.target()).inc("version", 1));
+        }
+        return bulk.execute().getMatchedCount();
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("status").count().as("count"));
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (Document group : mongoOperations.aggregate(aggregation, Task.class, Document.class)) {
+            if (group.get("_id") != null) {
+                counts.put(TaskStatus.valueOf(group.getString("_id")), group.get("count", Number.class).longValue());
+            }
+        }
+        return counts;
+    }
+}
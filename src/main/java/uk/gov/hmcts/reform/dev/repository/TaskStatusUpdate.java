@@ -0,0 +1,9 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+
+public record TaskStatusUpdate(
+    Long id,
+    Long expectedVersion,
+    TaskStatus target) {
+}
@@ -0,0 +1,51 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.domain.Limit;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The task storage operations the services use, implemented by {@link TaskRepository} on Mongo and by
+ * {@link EmbeddedTaskRepository} in the {@code embedded} profile. Services depend on this rather than on the
+ * Spring Data repository, so the embedded store only has to implement what is actually called.
+ */
+public interface TaskStore extends TaskRepositoryCustom {
+
+    /**
+     * Inserts a task without a version, or replaces one whose version still matches and increments it.
+     */
+    <S extends Task> S save(S task);
+
+    /**
+     * Inserts a task, failing with a {@link org.springframework.dao.DuplicateKeyException} if its id is taken.
+     */
+    <S extends Task> S insert(S task);
+
+    Optional<Task> findById(Long id);
+
+    List<Task> findAll();
+
+    List<Task> findAllById(Iterable<Long> ids);
+
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams every task without loading the whole collection at once. The stream must be closed.
+     */
+    Stream<Task> streamAllBy();
+
+    /**
+     * Streams every task with only its id loaded.
+     */
+    Stream<Task> streamIdsBy();
+
+    /**
+     * Streams id, status and due date of every task with a due date whose status is not one of {@code statuses}.
+     */
+    Stream<Task> streamDueTasksByStatusNotIn(Collection<TaskStatus> statuses);
+}
@@ -0,0 +1,103 @@
+package uk.gov.hmcts.reform.dev.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.dev.config.AuthProperties;
+import uk.gov.hmcts.reform.dev.models.AuthToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Issues and verifies short-lived HMAC-signed bearer tokens.
+ *
+ * <p>A token is {@code base64url(username '\n' expiryEpochSecond '\n' authorities) '.' base64url(hmac)}. Verifying
+ * one is a single HMAC over a few bytes, so it costs microseconds rather than a BCrypt round. Tokens cannot be
+ * revoked before they expire; keep the TTL short.
+ */
+@Service
+public class AuthTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec signingKey;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public AuthTokenService(AuthProperties authProperties) {
+        this(authProperties.token(), Clock.systemUTC());
+    }
+
+    AuthTokenService(AuthProperties.Token token, Clock clock) {
+        this.signingKey = new SecretKeySpec(secret(token.secret()), HMAC_ALGORITHM);
+        this.ttl = token.ttl();
+        this.clock = clock;
+    }
+
+    public AuthToken issue(Authentication authentication) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        String authorities = authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.joining(","));
+        String payload = ENCODER.encodeToString(
+            (authentication.getName() + "\n" + expiresAt.getEpochSecond() + "\n" + authorities)
+                .getBytes(StandardCharsets.UTF_8));
+        return new AuthToken(payload + "." + ENCODER.encodeToString(sign(payload)), expiresAt);
+    }
+
+    public Optional<Authentication> verify(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, separator);
+        try {
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return Optional.empty();
+            }
+            String[] claims = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\n", -1);
+            if (claims.length != 3 || clock.instant().getEpochSecond() >= Long.parseLong(claims[1])) {
+                return Optional.empty();
+            }
+            return Optional.of(UsernamePasswordAuthenticationToken.authenticated(
+                claims[0], null, AuthorityUtils.commaSeparatedStringToAuthorityList(claims[2])));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+
+    private static byte[] secret(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return Base64.getDecoder().decode(configured);
+        }
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+}
@@ -0,0 +1,59 @@
+package uk.gov.hmcts.reform.dev.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import uk.gov.hmcts.reform.dev.config.AuthProperties;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per client, one {@link AtomicLong} each.
+ *
+ * <p>A bucket stores the instant at which it will be full again rather than a token count, so taking a token is a
+ * single compare-and-set and no refill thread is needed: a request is admitted while that instant is no more than
+ * {@code capacity} token intervals ahead of now. Buckets live in a size-bounded cache and are evicted once idle, so
+ * memory stays bounded however many clients appear.
+ */
+public class ClientRateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final Ticker ticker;
+    private final long nanosPerToken;
+    private final long burstNanos;
+
+    public ClientRateLimiter(AuthProperties.RateLimit rateLimit) {
+        this(rateLimit, Ticker.systemTicker());
+    }
+
+    ClientRateLimiter(AuthProperties.RateLimit rateLimit, Ticker ticker) {
+        this.ticker = ticker;
+        this.nanosPerToken = Math.max(1, Math.round(1_000_000_000d / rateLimit.refillPerSecond()));
+        this.burstNanos = nanosPerToken * rateLimit.capacity();
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(rateLimit.maxClients())
+            .expireAfterAccess(rateLimit.idleTtl())
+            .ticker(ticker)
+            .build();
+    }
+
+    /**
+     * Takes one token from {@code client}'s bucket. Returns 0 when the request is admitted, otherwise the number of
+     * nanoseconds until a token will be available.
+     */
+    public long tryAcquire(String client) {
+        long now = ticker.read();
+        AtomicLong fullAt = buckets.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
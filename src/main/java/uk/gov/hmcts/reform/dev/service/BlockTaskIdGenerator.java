@@ -0,0 +1,149 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out task ids from blocks reserved on a shared counter document, so an insert only pays a round trip once
+ * per {@code blockSize} ids. Every instance reserves disjoint blocks with an atomic {@code $inc}, so instances
+ * never collide; ids left in a block when an instance stops are simply never used.
+ *
+ * <p>Ids are unique and increase within an instance, but are not ordered across instances. Clients may still
+ * choose their own ids. {@link #skipPast} only notes the highest one, and the counter is raised past it with one
+ * {@code $max} before the next block is reserved or, for other instances' sake, every
+ * {@code task.id.skip-publish-interval}. Ids that fall inside a block already reserved somewhere are handled by the
+ * caller retrying with the next id.
+ */
+@Slf4j
+@Component
+@Profile("!embedded")
+public class BlockTaskIdGenerator implements TaskIdGenerator {
+
+    static final String COUNTERS_COLLECTION = "counters";
+    static final String TASK_COUNTER = "task";
+    static final String SEQUENCE = "seq";
+
+    private final MongoOperations mongoOperations;
+    private final long blockSize;
+    // A ReentrantLock rather than synchronized: the refill blocks on Mongo and must not pin a virtual thread
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile IdBlock block = new IdBlock(0, 0);
+    private final AtomicLong highestClientId = new AtomicLong(Long.MIN_VALUE);
+    // Guarded by refillLock: the highest client id the shared counter is known to be past
+    private long raisedTo = Long.MIN_VALUE;
+    private boolean seeded;
+
+    public BlockTaskIdGenerator(MongoOperations mongoOperations,
+                                @Value("${task.id.block-size:1000}") long blockSize) {
+        this.mongoOperations = mongoOperations;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            IdBlock current = block;
+            long id = current.next.getAndIncrement();
+            if (id < current.end) {
+                return id;
+            }
+            refill(current);
+        }
+    }
+
+    @Override
+    public void skipPast(long id) {
+        // Below the end of our own block the counter is already past it
+        if (id >= block.end) {
+            highestClientId.accumulateAndGet(id, Math::max);
+        }
+    }
+
+    /**
+     * Raises the shared counter past the highest client id noted since the last call, if any.
+     */
+    @Scheduled(fixedDelayString = "${task.id.skip-publish-interval:1s}")
+    public void publishClientIds() {
+        refillLock.lock();
+        try {
+            long highest = highestClientId.get();
+            if (highest <= raisedTo) {
+                return;
+            }
+            mongoOperations.upsert(
+                Query.query(Criteria.where("_id").is(TASK_COUNTER)),
+                new Update().max(SEQUENCE, highest),
+                COUNTERS_COLLECTION
+            );
+            raisedTo = highest;
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private void refill(IdBlock exhausted) {
+        refillLock.lock();
+        try {
+            if (block != exhausted) {
+                return;
+            }
+            if (!seeded) {
+                seedFromExistingTasks();
+                seeded = true;
+            }
+            publishClientIds();
+            Document counter = mongoOperations.findAndModify(
+                Query.query(Criteria.where("_id").is(TASK_COUNTER)),
+                new Update().inc(SEQUENCE, blockSize),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class,
+                COUNTERS_COLLECTION
+            );
+            long end = ((Number) counter.get(SEQUENCE)).longValue();
+            block = new IdBlock(end - blockSize + 1, end + 1);
+            log.debug("Reserved task ids {}..{}", end - blockSize + 1, end);
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * Raises the counter past any id already in use, e.g. ids supplied by clients before ids were generated.
+     */
+    private void seedFromExistingTasks() {
+        Query highestId = new Query().with(Sort.by(Sort.Direction.DESC, "id")).limit(1);
+        highestId.fields().include("id");
+        Task highest = mongoOperations.findOne(highestId, Task.class);
+        if (highest != null && highest.getId() != null) {
+            mongoOperations.upsert(
+                Query.query(Criteria.where("_id").is(TASK_COUNTER)),
+                new Update().max(SEQUENCE, highest.getId()),
+                COUNTERS_COLLECTION
+            );
+        }
+    }
+
+    private static final class IdBlock {
+        private final AtomicLong next;
+        private final long end;
+
+        private IdBlock(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+}
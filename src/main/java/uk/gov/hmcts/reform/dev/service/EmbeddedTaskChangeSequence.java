@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.repository.EmbeddedTaskRepository;
+
+/**
+ * Reads the change sequence the embedded store already keeps from its snapshot generation and log position, so
+ * there is nothing to advance.
+ */
+@Component
+@Profile("embedded")
+public class EmbeddedTaskChangeSequence implements TaskChangeSequence {
+
+    private final EmbeddedTaskRepository repository;
+
+    public EmbeddedTaskChangeSequence(EmbeddedTaskRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public long current() {
+        return repository.changeSequence();
+    }
+
+    @Override
+    public void advance() {
+        // Every write to the embedded store already moves its log position
+    }
+}
@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.repository.EmbeddedTaskRepository;
+
+/**
+ * Hands out ids from the embedded store's in-memory high-water mark, which is rebuilt from the snapshot and log
+ * on startup. The embedded store belongs to a single instance, so no shared counter is needed.
+ */
+@Component
+@Profile("embedded")
+public class EmbeddedTaskIdGenerator implements TaskIdGenerator {
+
+    private final EmbeddedTaskRepository repository;
+
+    public EmbeddedTaskIdGenerator(EmbeddedTaskRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public long nextId() {
+        return repository.nextId();
+    }
+
+    @Override
+    public void skipPast(long id) {
+        // The store raises its high-water mark on every write, client-chosen ids included
+    }
+}
@@ -0,0 +1,138 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel of deadlines keyed by task id. Scheduling, rescheduling and cancelling are O(1); each tick
+ * only visits the one bucket it owns, and a deadline further out than one revolution waits out the extra rounds
+ * in its bucket. Deadlines may fire up to one tick late but never early.
+ */
+final class HashedTimingWheel {
+
+    private final long startMillis;
+    private final long tickMillis;
+    private final Bucket[] buckets;
+    private final int mask;
+    private final Map<Long, Deadline> deadlines = new HashMap<>();
+    private long tick;
+
+    HashedTimingWheel(long startMillis, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("tick must be positive and wheel size a power of two");
+        }
+        this.startMillis = startMillis;
+        this.tickMillis = tickMillis;
+        this.buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+    }
+
+    /**
+     * Schedules {@code id} to expire at {@code deadlineMillis}, replacing any deadline it already had. A deadline
+     * in the past expires on the next call to {@link #advance(long)}.
+     */
+    synchronized void schedule(long id, long deadlineMillis) {
+        cancel(id);
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis - startMillis, tickMillis), tick);
+        Deadline deadline = new Deadline(id, deadlineMillis, (deadlineTick - tick) / buckets.length);
+        buckets[(int) (deadlineTick & mask)].add(deadline);
+        deadlines.put(id, deadline);
+    }
+
+    synchronized boolean cancel(long id) {
+        Deadline deadline = deadlines.remove(id);
+        if (deadline == null) {
+            return false;
+        }
+        deadline.bucket.remove(deadline);
+        return true;
+    }
+
+    /**
+     * Runs every tick up to {@code nowMillis} and returns the deadlines that expired, in tick order.
+     */
+    synchronized List<Deadline> advance(long nowMillis) {
+        List<Deadline> expired = new ArrayList<>();
+        while (startMillis + tick * tickMillis <= nowMillis) {
+            Bucket bucket = buckets[(int) (tick & mask)];
+            Deadline deadline = bucket.head;
+            while (deadline != null) {
+                Deadline next = deadline.next;
+                if (deadline.remainingRounds <= 0) {
+                    bucket.remove(deadline);
+                    deadlines.remove(deadline.id);
+                    expired.add(deadline);
+                } else {
+                    deadline.remainingRounds--;
+                }
+                deadline = next;
+            }
+            tick++;
+        }
+        return expired;
+    }
+
+    synchronized boolean contains(long id) {
+        return deadlines.containsKey(id);
+    }
+
+    synchronized int size() {
+        return deadlines.size();
+    }
+
+    static final class Deadline {
+        private final long id;
+        private final long deadlineMillis;
+        private long remainingRounds;
+        private Bucket bucket;
+        private Deadline prev;
+        private Deadline next;
+
+        private Deadline(long id, long deadlineMillis, long remainingRounds) {
+            this.id = id;
+            this.deadlineMillis = deadlineMillis;
+            this.remainingRounds = remainingRounds;
+        }
+
+        long id() {
+            return id;
+        }
+
+        long deadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+
+    // Intrusive doubly linked list so a cancelled deadline unlinks itself without a search
+    private static final class Bucket {
+        private Deadline head;
+
+        void add(Deadline deadline) {
+            deadline.bucket = this;
+            deadline.next = head;
+            if (head != null) {
+                head.prev = deadline;
+            }
+            head = deadline;
+        }
+
+        void remove(Deadline deadline) {
+            if (deadline.prev != null) {
+                deadline.prev.next = deadline.next;
+            } else {
+                head = deadline.next;
+            }
+            if (deadline.next != null) {
+                deadline.next.prev = deadline.prev;
+            }
+            deadline.prev = null;
+            deadline.next = null;
+            deadline.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.dev.exception.IdempotencyKeyMismatchException;
+import uk.gov.hmcts.reform.dev.models.IdempotencyRecord;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create at most once per {@code Idempotency-Key}. The first request with a key runs it; later requests get
+ * the same {@link TaskDTO} back, and requests that arrive while it is still running wait for it rather than running
+ * again. Each key remembers a fingerprint of the request body, and reusing a key for a different body is rejected.
+ *
+ * <p>Keys are held in a bounded cache that forgets them {@code task.idempotency.ttl} after they were first used. A
+ * create that fails is forgotten straight away, so the client's retry runs again. With
+ * {@code task.idempotency.durable} the keys are also claimed in Mongo through {@link MongoIdempotencyRecords}, so a
+ * retry that lands on another instance is deduplicated too.
+ */
+@Service
+public class IdempotencyService {
+
+    private final AsyncCache<String, Stored> outcomes;
+    private final MongoIdempotencyRecords durable;
+
+    @Autowired
+    public IdempotencyService(ObjectProvider<MongoIdempotencyRecords> durable,
+                              @Value("${task.idempotency.max-size:100000}") long maxSize,
+                              @Value("${task.idempotency.ttl:24h}") Duration ttl) {
+        this(durable.getIfAvailable(), maxSize, ttl);
+    }
+
+    IdempotencyService(MongoIdempotencyRecords durable, long maxSize, Duration ttl) {
+        this.durable = durable;
+        this.outcomes = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .buildAsync();
+    }
+
+    public record Outcome(TaskDTO task, boolean replayed) {
+    }
+
+    private record Stored(String fingerprint, TaskDTO task, boolean replayed) {
+    }
+
+    /**
+     * Runs {@code create} unless {@code key} has been used before, and returns its task either way.
+     * {@link Outcome#replayed()} is {@code true} when this call did not run it.
+     */
+    public Outcome createOnce(String key, TaskDTO request, Supplier<TaskDTO> create) {
+        String fingerprint = fingerprint(request);
+        CompletableFuture<Stored> pending = new CompletableFuture<>();
+        CompletableFuture<Stored> existing = outcomes.get(key, (k, executor) -> pending);
+        boolean first = existing == pending;
+        if (first) {
+            // This caller won the key: run on its own thread, everyone else with the key waits on the future.
+            // A failed future is dropped by the cache, so the next request with the key runs again.
+            try {
+                pending.complete(run(key, fingerprint, create));
+            } catch (RuntimeException ex) {
+                pending.completeExceptionally(ex);
+            }
+        }
+        Stored stored;
+        try {
+            stored = existing.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException(key);
+        }
+        return new Outcome(stored.task(), !first || stored.replayed());
+    }
+
+    private Stored run(String key, String fingerprint, Supplier<TaskDTO> create) {
+        if (durable == null) {
+            return new Stored(fingerprint, create.get(), false);
+        }
+        Optional<IdempotencyRecord> completed = durable.claim(key, fingerprint);
+        if (completed.isPresent()) {
+            return new Stored(fingerprint, completed.get().getResponse(), true);
+        }
+        TaskDTO task;
+        try {
+            task = create.get();
+        } catch (RuntimeException ex) {
+            durable.release(key);
+            throw ex;
+        }
+        durable.complete(key, task);
+        return new Stored(fingerprint, task, false);
+    }
+
+    static String fingerprint(TaskDTO request) {
+        String canonical = String.join("\u0000", String.valueOf(request.id()), String.valueOf(request.title()),
+                                       String.valueOf(request.description()), String.valueOf(request.status()),
+                                       String.valueOf(request.dueDate()), String.valueOf(request.version()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.exception.IdempotencyKeyInProgressException;
+import uk.gov.hmcts.reform.dev.exception.IdempotencyKeyMismatchException;
+import uk.gov.hmcts.reform.dev.models.IdempotencyRecord;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Shares idempotency keys between instances through the {@code idempotency_keys} collection. A request claims its
+ * key by inserting a record; the unique {@code _id} makes exactly one claim succeed. Everyone else finds the record
+ * and either replays its response or, while it has none, polls until it does.
+ *
+ * <p>An owner that dies mid-request leaves a claim without a response. Once that claim is older than
+ * {@code task.idempotency.lease}, the next request with the key takes it over with a conditional update and runs
+ * the create itself.
+ */
+@Component
+@Profile("!embedded")
+@ConditionalOnProperty(prefix = "task.idempotency", name = "durable", havingValue = "true")
+public class MongoIdempotencyRecords {
+
+    private final MongoOperations mongoOperations;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final Clock clock;
+
+    @Autowired
+    public MongoIdempotencyRecords(MongoOperations mongoOperations,
+                                   @Value("${task.idempotency.ttl:24h}") Duration ttl,
+                                   @Value("${task.idempotency.lease:30s}") Duration lease,
+                                   @Value("${task.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this(mongoOperations, ttl, lease, waitTimeout, Duration.ofMillis(50), Clock.systemUTC());
+    }
+
+    MongoIdempotencyRecords(MongoOperations mongoOperations, Duration ttl, Duration lease, Duration waitTimeout,
+                            Duration pollInterval, Clock clock) {
+        this.mongoOperations = mongoOperations;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Claims {@code key} for the caller. Returns empty when the caller now owns the key and must run the request,
+     * or the completed record when another request already ran it.
+     */
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint) {
+        Instant deadline = clock.instant().plus(waitTimeout);
+        while (true) {
+            Instant now = clock.instant();
+            try {
+                mongoOperations.insert(new IdempotencyRecord(key, fingerprint, null, now, now.plus(ttl)));
+                return Optional.empty();
+            } catch (DuplicateKeyException ex) {
+                // Claimed before us; see below whether it has finished
+            }
+            IdempotencyRecord existing = mongoOperations.findById(key, IdempotencyRecord.class);
+            if (existing == null) {
+                // Released or expired in between, so the next insert can claim it
+                continue;
+            }
+            if (!fingerprint.equals(existing.getFingerprint())) {
+                throw new IdempotencyKeyMismatchException(key);
+            }
+            if (existing.getResponse() != null) {
+                return Optional.of(existing);
+            }
+            if (takeOverStale(key, now)) {
+                return Optional.empty();
+            }
+            if (!now.isBefore(deadline)) {
+                throw new IdempotencyKeyInProgressException(key);
+            }
+            pause(key);
+        }
+    }
+
+    public void complete(String key, TaskDTO response) {
+        mongoOperations.updateFirst(Query.query(Criteria.where("_id").is(key)),
+                                    new Update().set("response", response), IdempotencyRecord.class);
+    }
+
+    /**
+     * Gives up a claim whose request failed, so a retry with the same key runs again.
+     */
+    public void release(String key) {
+        mongoOperations.remove(Query.query(Criteria.where("_id").is(key).and("response").is(null)),
+                               IdempotencyRecord.class);
+    }
+
+    private boolean takeOverStale(String key, Instant now) {
+        Query stale = Query.query(Criteria.where("_id").is(key)
+                                      .and("response").is(null)
+                                      .and("claimedAt").lt(now.minus(lease)));
+        Update claim = new Update().set("claimedAt", now).set("expiresAt", now.plus(ttl));
+        return mongoOperations.updateFirst(stale, claim, IdempotencyRecord.class).getModifiedCount() == 1;
+    }
+
+    private void pause(String key) {
+        try {
+            Thread.sleep(pollInterval);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(key);
+        }
+    }
+}
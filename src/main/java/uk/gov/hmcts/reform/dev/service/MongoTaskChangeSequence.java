@@ -0,0 +1,80 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static uk.gov.hmcts.reform.dev.service.BlockTaskIdGenerator.COUNTERS_COLLECTION;
+import static uk.gov.hmcts.reform.dev.service.BlockTaskIdGenerator.SEQUENCE;
+
+/**
+ * Keeps the change sequence on a document in the shared counters collection, so every instance reads the same one.
+ *
+ * <p>Advancing never touches Mongo: writes only count locally, so they cost no extra round trip and never contend
+ * on the counter document. The local count is added with one {@code $inc} every
+ * {@code task.change-sequence.publish-interval}, and by the next read on this instance, which then costs the same
+ * single round trip as a plain lookup. A read here therefore always sees this instance's own writes; writes made
+ * through other instances show up once they are published. A failed publish keeps its count for the next attempt.
+ */
+@Component
+@Profile("!embedded")
+public class MongoTaskChangeSequence implements TaskChangeSequence {
+
+    static final String CHANGES_COUNTER = "task-changes";
+
+    private final MongoOperations mongoOperations;
+    private final AtomicLong unpublished = new AtomicLong();
+
+    public MongoTaskChangeSequence(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    @Override
+    public long current() {
+        long pending = unpublished.getAndSet(0);
+        if (pending == 0) {
+            Document counter = mongoOperations.findById(CHANGES_COUNTER, Document.class, COUNTERS_COLLECTION);
+            return counter == null ? 0 : ((Number) counter.get(SEQUENCE)).longValue();
+        }
+        return add(pending);
+    }
+
+    @Override
+    public void advance() {
+        unpublished.incrementAndGet();
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${task.change-sequence.publish-interval:1s}")
+    public void publish() {
+        long pending = unpublished.getAndSet(0);
+        if (pending != 0) {
+            add(pending);
+        }
+    }
+
+    private long add(long pending) {
+        try {
+            Document counter = mongoOperations.findAndModify(
+                Query.query(Criteria.where("_id").is(CHANGES_COUNTER)),
+                new Update().inc(SEQUENCE, pending),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class,
+                COUNTERS_COLLECTION
+            );
+            return ((Number) counter.get(SEQUENCE)).longValue();
+        } catch (RuntimeException ex) {
+            unpublished.addAndGet(pending);
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskOverdueEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Publishes a {@link TaskOverdueEvent} when an open task passes its due date. Due dates are held in a
+ * {@link HashedTimingWheel} loaded once at startup and kept current from {@link TaskChangedEvent}s, so no query
+ * ever scans for overdue tasks.
+ *
+ * <p>Tasks already past due at startup are counted as overdue but not announced again, so a restart does not
+ * replay an event for each of them. Writes made through other instances are not seen as events, so the overdue
+ * set is reconciled against the stored tasks every {@code task.overdue.reconcile-interval}.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "task.overdue", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OverdueTaskMonitor {
+
+    static final Set<TaskStatus> CLOSED_STATUSES = EnumSet.of(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+
+    private final TaskStore repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final HashedTimingWheel wheel;
+    // Open tasks past their due date, so the overdue count needs no query
+    private final Set<Long> overdue = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public OverdueTaskMonitor(TaskStore repository, ApplicationEventPublisher eventPublisher,
+                              @Value("${task.overdue.tick:1s}") Duration tick,
+                              @Value("${task.overdue.wheel-size:512}") int wheelSize) {
+        this(repository, eventPublisher, Clock.systemDefaultZone(), tick, wheelSize);
+    }
+
+    OverdueTaskMonitor(TaskStore repository, ApplicationEventPublisher eventPublisher, Clock clock,
+                       Duration tick, int wheelSize) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.wheel = new HashedTimingWheel(clock.millis(), tick.toMillis(), wheelSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        load();
+    }
+
+    void load() {
+        long now = clock.millis();
+        long loaded = 0;
+        try (Stream<Task> tasks = repository.streamDueTasksByStatusNotIn(CLOSED_STATUSES)) {
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                long deadline = toMillis(task.getDueDate());
+                if (deadline <= now) {
+                    overdue.add(task.getId());
+                } else {
+                    wheel.schedule(task.getId(), deadline);
+                }
+                loaded++;
+            }
+        }
+        log.info("Overdue monitor loaded {} open tasks with due dates, {} already overdue", loaded, overdue.size());
+    }
+
+    /**
+     * Moves the overdue set to the open tasks the store has past their due date, leaving any still on the wheel
+     * for the next tick to announce.
+     */
+    @Scheduled(fixedDelayString = "${task.overdue.reconcile-interval:5m}",
+               initialDelayString = "${task.overdue.reconcile-interval:5m}")
+    void reconcile() {
+        long now = clock.millis();
+        Set<Long> pastDue = new HashSet<>();
+        try (Stream<Task> tasks = repository.streamDueTasksByStatusNotIn(CLOSED_STATUSES)) {
+            tasks.filter(task -> toMillis(task.getDueDate()) <= now)
+                .forEach(task -> pastDue.add(task.getId()));
+        }
+        int before = overdue.size();
+        overdue.retainAll(pastDue);
+        for (Long id : pastDue) {
+            if (!wheel.contains(id)) {
+                overdue.add(id);
+            }
+        }
+        if (overdue.size() != before) {
+            log.info("Reconciled overdue task count from {} to {}", before, overdue.size());
+        }
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskDTO task = event.task();
+        switch (event.type()) {
+            case CREATED -> {
+                if (task.dueDate() != null && !CLOSED_STATUSES.contains(task.status())) {
+                    wheel.schedule(task.id(), toMillis(task.dueDate()));
+                }
+            }
+            case STATUS_CHANGED -> {
+                if (CLOSED_STATUSES.contains(task.status())) {
+                    wheel.cancel(task.id());
+                    overdue.remove(task.id());
+                }
+            }
+            case DELETED -> {
+                wheel.cancel(task.id());
+                overdue.remove(task.id());
+            }
+            default -> throw new IllegalStateException("Unexpected change type " + event.type());
+        }
+    }
+
+    /**
+     * Expires everything due up to now and publishes one event per overdue task.
+     */
+    @Scheduled(fixedRateString = "${task.overdue.tick:1s}", initialDelayString = "${task.overdue.tick:1s}")
+    List<TaskOverdueEvent> tick() {
+        List<TaskOverdueEvent> fired = wheel.advance(clock.millis())
+            .stream()
+            .map(deadline -> new TaskOverdueEvent(deadline.id(), LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(deadline.deadlineMillis()), clock.getZone())))
+            .toList();
+        for (TaskOverdueEvent event : fired) {
+            overdue.add(event.id());
+            eventPublisher.publishEvent(event);
+        }
+        if (!fired.isEmpty()) {
+            log.info("{} tasks became overdue", fired.size());
+        }
+        return fired;
+    }
+
+    public int scheduledCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Returns the number of open tasks that are past their due date.
+     */
+    public int overdueCount() {
+        return overdue.size();
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
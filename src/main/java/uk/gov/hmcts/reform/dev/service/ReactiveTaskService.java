@@ -0,0 +1,20 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskPage;
+
+public interface ReactiveTaskService {
+    Mono<TaskDTO> createTask(TaskDTO taskDTO);
+
+    Mono<TaskDTO> getTaskById(Long id);
+
+    Flux<TaskDTO> getAllTasks();
+
+    Mono<TaskPage> getTaskPage(String cursor, int limit);
+
+    Mono<TaskDTO> updateTaskById(Long id, TaskDTO taskDTO);
+
+    Mono<Void> deleteTaskById(Long id);
+}
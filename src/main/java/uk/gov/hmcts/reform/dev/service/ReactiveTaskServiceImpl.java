@@ -0,0 +1,150 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.exception.InvalidStatusTransitionException;
+import uk.gov.hmcts.reform.dev.exception.TaskConflictException;
+import uk.gov.hmcts.reform.dev.exception.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.mapper.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskPage;
+import uk.gov.hmcts.reform.dev.repository.ReactiveTaskRepository;
+
+import java.util.Set;
+
+import static uk.gov.hmcts.reform.dev.service.TaskServiceImpl.MAX_ID_ATTEMPTS;
+import static uk.gov.hmcts.reform.dev.service.TaskServiceImpl.MAX_PAGE_SIZE;
+import static uk.gov.hmcts.reform.dev.service.TaskServiceImpl.createdNow;
+
+/**
+ * Non-blocking mirror of {@link TaskServiceImpl}: same transition rules and compare-and-set update, but every
+ * Mongo call goes through the reactive driver.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private final ReactiveTaskRepository repository;
+    private final TaskMapper mapper;
+    private final TaskStateService taskStateService;
+    private final TaskIdGenerator idGenerator;
+
+    public ReactiveTaskServiceImpl(ReactiveTaskRepository repository, TaskMapper mapper,
+                                   TaskStateService taskStateService, TaskIdGenerator idGenerator) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.taskStateService = taskStateService;
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public Mono<TaskDTO> createTask(TaskDTO taskDTO) {
+        Task task = mapper.toEntity(taskDTO);
+        task.setCreatedAt(createdNow());
+        Mono<Task> saved = task.getId() == null
+            ? saveWithGeneratedId(task, 1)
+            : repository.save(task).doOnNext(created -> idGenerator.skipPast(created.getId()));
+        return saved.map(mapper::toDto);
+    }
+
+    @Override
+    public Mono<TaskDTO> getTaskById(Long id) {
+        return repository.findById(id)
+            .map(mapper::toDto)
+            .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(id)));
+    }
+
+    @Override
+    public Flux<TaskDTO> getAllTasks() {
+        return repository.findAll()
+            .map(mapper::toDto);
+    }
+
+    @Override
+    public Mono<TaskPage> getTaskPage(String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return Mono.fromSupplier(() -> cursor == null || cursor.isBlank() ? Long.MIN_VALUE : TaskCursor.decode(cursor))
+            .flatMap(after -> repository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1)).collectList())
+            .map(tasks -> {
+                boolean hasMore = tasks.size() > pageSize;
+                String nextCursor = hasMore ? TaskCursor.encode(tasks.get(pageSize - 1).getId()) : null;
+                return new TaskPage(tasks.stream().limit(pageSize).map(mapper::toDto).toList(), nextCursor);
+            });
+    }
+
+    @Override
+    public Mono<TaskDTO> updateTaskById(Long id, TaskDTO taskDTO) {
+        TaskStatus requested = taskDTO.status();
+        if (requested == null) {
+            return getTaskById(id);
+        }
+        Set<TaskStatus> allowedSources = taskStateService.allowedSources(requested);
+        Mono<Task> previous = allowedSources.isEmpty()
+            ? Mono.empty()
+            : repository.compareAndSetStatus(id, taskDTO.version(), allowedSources, requested);
+        return previous
+            .map(task -> {
+                taskStateService.applyEvent(task, mapper.statusToEvent(task.getStatus(), requested));
+                task.setVersion(task.getVersion() == null ? 1L : task.getVersion() + 1);
+                return mapper.toDto(task);
+            })
+            .switchIfEmpty(Mono.defer(() -> resolveRejectedUpdate(id, taskDTO, allowedSources)));
+    }
+
+    @Override
+    public Mono<Void> deleteTaskById(Long id) {
+        return repository.removeById(id)
+            .flatMap(deleted -> deleted > 0
+                ? Mono.<Void>empty()
+                : Mono.<Void>error(new TaskNotFoundException(id)));
+    }
+
+    /**
+     * Saves the task under a freshly generated id, taking another if a client already chose that one.
+     */
+    private Mono<Task> saveWithGeneratedId(Task task, int attempt) {
+        // The generator occasionally blocks to reserve a new block of ids, so keep it off the event loop
+        return Mono.fromCallable(() -> {
+                task.setId(idGenerator.nextId());
+                // A failed save leaves the initial version on the entity, which would turn the retry into an update
+                task.setVersion(null);
+                return task;
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(repository::save)
+            .onErrorResume(DuplicateKeyException.class, ex -> {
+                if (attempt == MAX_ID_ATTEMPTS) {
+                    return Mono.error(ex);
+                }
+                log.warn("Generated task id {} was already taken, retrying with another", task.getId());
+                return saveWithGeneratedId(task, attempt + 1);
+            });
+    }
+
+    private Mono<TaskDTO> resolveRejectedUpdate(Long id, TaskDTO taskDTO, Set<TaskStatus> allowedSources) {
+        return repository.findById(id)
+            .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(id)))
+            .flatMap(current -> {
+                if (taskDTO.version() != null && !taskDTO.version().equals(current.getVersion())) {
+                    return Mono.<TaskDTO>error(new TaskConflictException(id));
+                }
+                if (current.getStatus() == taskDTO.status()) {
+                    return Mono.just(mapper.toDto(current));
+                }
+                if (!allowedSources.contains(current.getStatus())) {
+                    return Mono.<TaskDTO>error(
+                        new InvalidStatusTransitionException(current.getStatus(), taskDTO.status()));
+                }
+                return Mono.<TaskDTO>error(new TaskConflictException(id));
+            });
+    }
+}
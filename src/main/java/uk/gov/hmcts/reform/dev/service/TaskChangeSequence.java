@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.dev.service;
+
+/**
+ * A number that only ever grows, advanced after every write to the tasks. Two reads that return the same value
+ * saw the same collection, which makes it the task list's entity tag.
+ */
+public interface TaskChangeSequence {
+
+    long current();
+
+    /**
+     * Called once after each successful write, however many tasks it changed. It runs after the write has
+     * committed, so it must not do I/O or throw; implementations defer any round trip.
+     */
+    void advance();
+}
@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import uk.gov.hmcts.reform.dev.exception.InvalidQueryParameterException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for task pages. The token is the URL-safe Base64 encoding of the last task id
+ * on the previous page, so the next page resumes with {@code _id > lastId} using the primary index.
+ */
+final class TaskCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private TaskCursor() {
+        // private constructor to prevent instantiation
+    }
+
+    static String encode(long lastId) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastId).array());
+    }
+
+    static long decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidQueryParameterException("Invalid cursor: " + cursor);
+        }
+        if (bytes.length != Long.BYTES) {
+            throw new InvalidQueryParameterException("Invalid cursor: " + cursor);
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
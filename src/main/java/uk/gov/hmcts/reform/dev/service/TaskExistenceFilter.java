@@ -0,0 +1,90 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
+import uk.gov.hmcts.reform.dev.util.CountingBloomFilter;
+
+import java.util.stream.Stream;
+
+/**
+ * Remembers which task ids exist in a {@link CountingBloomFilter}, so lookups for ids that were never created
+ * (or have been deleted) are answered without a round trip. The filter is filled by streaming every id once the
+ * application is ready and then kept current by the task service's change events; until it is filled every id
+ * might exist.
+ *
+ * <p>Only writes made through this instance are seen, so the filter must stay disabled when other instances write
+ * to the same collection: a task created elsewhere would be reported as missing here. Deletes seen while the filter
+ * is being filled are not applied, as the stream may not have added those ids yet; they only cost false positives.
+ */
+@Slf4j
+@Component
+public class TaskExistenceFilter {
+
+    private final TaskStore repository;
+    private final boolean enabled;
+    private final long expectedTasks;
+    private final double falsePositiveRate;
+    private volatile CountingBloomFilter ids;
+    private volatile boolean filled;
+
+    public TaskExistenceFilter(TaskStore repository,
+                               @Value("${task.existence-filter.enabled:false}") boolean enabled,
+                               @Value("${task.existence-filter.expected-tasks:1000000}") long expectedTasks,
+                               @Value("${task.existence-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.expectedTasks = expectedTasks;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void fill() {
+        if (!enabled) {
+            return;
+        }
+        CountingBloomFilter filling = new CountingBloomFilter(expectedTasks, falsePositiveRate);
+        // Published before the stream opens, so a task created while it runs is added by its event if not streamed
+        ids = filling;
+        long count = 0;
+        try (Stream<Task> tasks = repository.streamIdsBy()) {
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                filling.add(task.getId());
+                count++;
+            }
+        }
+        filled = true;
+        log.info("Task existence filter holds {} ids in {} bytes", count, filling.sizeInBytes());
+    }
+
+    /**
+     * Returns {@code false} only when no task with {@code id} can exist.
+     */
+    public boolean mightExist(Long id) {
+        return !filled || id == null || ids.mightContain(id);
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        CountingBloomFilter current = ids;
+        if (current == null) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED -> current.add(event.task().id());
+            case DELETED -> {
+                if (filled) {
+                    current.remove(event.task().id());
+                }
+            }
+            default -> {
+                // Status changes do not change which ids exist
+            }
+        }
+    }
+}
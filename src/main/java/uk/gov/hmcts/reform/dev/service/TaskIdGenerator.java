@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.dev.service;
+
+public interface TaskIdGenerator {
+    long nextId();
+
+    /**
+     * Records an id a client chose, so blocks reserved from now on start above it. Ids already reserved can still
+     * collide with it, so a caller whose generated id turns out to be taken must ask for another.
+     */
+    void skipPast(long id);
+}
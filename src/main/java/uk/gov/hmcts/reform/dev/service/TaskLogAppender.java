@@ -0,0 +1,138 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.enums.TaskChangeType;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskLogEntry;
+import uk.gov.hmcts.reform.dev.repository.TaskLogRepository;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Appends every persisted task change to the task log. Request threads only enqueue the entry; a single committer
+ * thread drains whatever has queued up since its last write and inserts it with one {@code insertMany}, so under
+ * load many writers' entries share a round trip. A full queue blocks the writer rather than dropping entries.
+ *
+ * <p>Entries still queued when the process dies are lost; a graceful shutdown drains the queue first.
+ */
+@Slf4j
+@Component
+@Profile("!embedded")
+@ConditionalOnProperty(prefix = "task.log", name = "enabled", havingValue = "true")
+public class TaskLogAppender {
+
+    private static final TaskLogEntry STOP = new TaskLogEntry();
+
+    private final TaskLogRepository repository;
+    private final TaskTransitionTable transitionTable;
+    private final Clock clock;
+    private final BlockingQueue<TaskLogEntry> queue;
+    private final int maxBatch;
+    private volatile boolean closed;
+    private Thread committer;
+
+    @Autowired
+    public TaskLogAppender(TaskLogRepository repository, TaskTransitionTable transitionTable,
+                           @Value("${task.log.queue-capacity:10000}") int queueCapacity,
+                           @Value("${task.log.max-batch:1000}") int maxBatch) {
+        this(repository, transitionTable, Clock.systemUTC(), queueCapacity, maxBatch);
+    }
+
+    TaskLogAppender(TaskLogRepository repository, TaskTransitionTable transitionTable, Clock clock,
+                    int queueCapacity, int maxBatch) {
+        this.repository = repository;
+        this.transitionTable = transitionTable;
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+    }
+
+    @PostConstruct
+    public void start() {
+        committer = Thread.ofPlatform().name("task-log-committer").daemon().start(this::run);
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (closed) {
+            log.warn("Task log closed, dropping {} of task {}", event.type(), event.task().id());
+            return;
+        }
+        try {
+            queue.put(toEntry(event));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing {} of task {} for the task log", event.type(), event.task().id());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        closed = true;
+        queue.put(STOP);
+        committer.join(10_000);
+    }
+
+    /**
+     * Writes everything queued so far, up to {@code maxBatch} entries, as one insert. Returns {@code false} once
+     * the stop marker has been taken.
+     */
+    boolean commitPending() throws InterruptedException {
+        List<TaskLogEntry> batch = new ArrayList<>(maxBatch);
+        batch.add(queue.take());
+        queue.drainTo(batch, maxBatch - 1);
+        boolean stopping = batch.removeIf(entry -> entry == STOP);
+        if (!batch.isEmpty()) {
+            try {
+                repository.insert(batch);
+            } catch (RuntimeException ex) {
+                log.error("Failed to append {} entries to the task log", batch.size(), ex);
+            }
+        }
+        return !stopping;
+    }
+
+    private void run() {
+        try {
+            while (commitPending()) {
+                // Keep draining until close() queues the stop marker
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TaskLogEntry toEntry(TaskChangedEvent event) {
+        TaskDTO task = event.task();
+        TaskLogEntry.TaskLogEntryBuilder entry = TaskLogEntry.builder()
+            .taskId(task.id())
+            .type(event.type())
+            .recordedAt(clock.instant());
+        if (event.type() == TaskChangeType.CREATED) {
+            entry.status(task.status())
+                .title(task.title())
+                .description(task.description())
+                .dueDate(task.dueDate())
+                .version(task.version())
+                .createdAt(task.createdAt());
+        } else if (event.type() == TaskChangeType.STATUS_CHANGED) {
+            entry.event(transitionTable.eventInto(task.status()))
+                .status(task.status())
+                .version(task.version());
+        }
+        return entry.build();
+    }
+}
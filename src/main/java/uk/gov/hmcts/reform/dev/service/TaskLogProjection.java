@@ -0,0 +1,69 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskLogEntry;
+import uk.gov.hmcts.reform.dev.repository.TaskLogRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replays tasks from the task log. The log is an audit trail appended after the task write, not the source of
+ * truth: tasks created before the log was enabled have no entries, a batch whose insert failed is dropped, entries
+ * still queued when the process dies are lost, and reactive writes are not logged at all. The {@code task}
+ * document is therefore authoritative; a replay is for auditing it and is never written back.
+ */
+@Component
+@Profile("!embedded")
+@ConditionalOnProperty(prefix = "task.log", name = "enabled", havingValue = "true")
+public class TaskLogProjection {
+
+    private final TaskLogRepository logRepository;
+
+    public TaskLogProjection(TaskLogRepository logRepository) {
+        this.logRepository = logRepository;
+    }
+
+    /**
+     * Returns the task as its log says it should be, or empty if it was never created or has been deleted.
+     */
+    public Optional<Task> replay(Long taskId) {
+        return fold(logRepository.findByTaskIdOrderByIdAsc(taskId));
+    }
+
+    /**
+     * Folds a task's log in append order. Entries from concurrent writers can be appended slightly out of order,
+     * so a status change only applies if it is newer than the state so far; the versions settle the order.
+     */
+    static Optional<Task> fold(List<TaskLogEntry> entries) {
+        Task task = null;
+        for (TaskLogEntry entry : entries) {
+            switch (entry.getType()) {
+                case CREATED -> task = Task.builder()
+                    .id(entry.getTaskId())
+                    .title(entry.getTitle())
+                    .description(entry.getDescription())
+                    .status(entry.getStatus())
+                    .dueDate(entry.getDueDate())
+                    .version(entry.getVersion())
+                    .createdAt(entry.getCreatedAt())
+                    .build();
+                case STATUS_CHANGED -> {
+                    if (task != null && isNewer(entry.getVersion(), task.getVersion())) {
+                        task.setStatus(entry.getStatus());
+                        task.setVersion(entry.getVersion());
+                    }
+                }
+                case DELETED -> task = null;
+            }
+        }
+        return Optional.ofNullable(task);
+    }
+
+    private static boolean isNewer(Long version, Long current) {
+        return current == null || version != null && version > current;
+    }
+}
@@ -0,0 +1,233 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.util.LongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from the words of each task's title and description to the ids of the tasks containing them.
+ *
+ * <p>Each word's postings are a sorted {@code long[]} of ids with a parallel {@code int[]} of term frequencies, so
+ * a lookup is a binary search over primitives and an AND query walks the shortest list, probing the others from a
+ * moving lower bound. Matches are ranked by tf-idf, with a word in the title counting {@value #TITLE_WEIGHT} times
+ * a word in the description. Reads share a read lock; each write takes the write lock for one task.
+ */
+class TaskSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final LongObjectHashMap<Document> documents = new LongObjectHashMap<>(1024);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Splits {@code text} into lower-case words, dropping punctuation and duplicates but keeping first-seen order.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return List.copyOf(words);
+    }
+
+    /**
+     * Indexes the task, replacing whatever was indexed for {@code id} before.
+     */
+    void index(long id, String title, String description, TaskStatus status) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        count(title, TITLE_WEIGHT, frequencies);
+        count(description, 1, frequencies);
+        write(() -> {
+            unindex(id);
+            frequencies.forEach((word, frequency) ->
+                postings.computeIfAbsent(word, key -> new Postings()).add(id, frequency));
+            documents.put(id, new Document(frequencies.keySet().toArray(String[]::new), status));
+            return null;
+        });
+    }
+
+    void updateStatus(long id, TaskStatus status) {
+        write(() -> {
+            Document document = documents.get(id);
+            if (document != null) {
+                documents.put(id, new Document(document.words(), status));
+            }
+            return null;
+        });
+    }
+
+    void remove(long id) {
+        write(() -> {
+            unindex(id);
+            return null;
+        });
+    }
+
+    int size() {
+        return read(documents::size);
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} tasks containing every word, best match first, optionally only those
+     * in {@code status}.
+     */
+    long[] search(List<String> words, TaskStatus status, int limit) {
+        if (words.isEmpty() || limit <= 0) {
+            return new long[0];
+        }
+        return read(() -> {
+            List<Postings> lists = new ArrayList<>(words.size());
+            for (String word : words) {
+                Postings list = postings.get(word);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            int total = documents.size();
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                idf[i] = Math.log(1 + (double) total / lists.get(i).size);
+            }
+
+            PriorityQueue<Match> best = new PriorityQueue<>(Comparator.comparingDouble(Match::score));
+            Postings shortest = lists.get(0);
+            int[] cursors = new int[lists.size()];
+            for (int p = 0; p < shortest.size; p++) {
+                long id = shortest.ids[p];
+                double score = idf[0] * (1 + Math.log(shortest.frequencies[p]));
+                boolean all = true;
+                for (int i = 1; i < lists.size() && all; i++) {
+                    Postings list = lists.get(i);
+                    int at = Arrays.binarySearch(list.ids, cursors[i], list.size, id);
+                    if (at < 0) {
+                        cursors[i] = -at - 1;
+                        all = false;
+                    } else {
+                        cursors[i] = at + 1;
+                        score += idf[i] * (1 + Math.log(list.frequencies[at]));
+                    }
+                }
+                if (all && (status == null || documents.get(id).status() == status)) {
+                    best.add(new Match(id, score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            long[] ranked = new long[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = best.poll().id();
+            }
+            return ranked;
+        });
+    }
+
+    private void unindex(long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String word : previous.words()) {
+            Postings list = postings.get(word);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    private static void count(String text, int weight, Map<String, Integer> frequencies) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                frequencies.merge(word, weight, Integer::sum);
+            }
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> writer) {
+        lock.writeLock().lock();
+        try {
+            return writer.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record Document(String[] words, TaskStatus status) {
+    }
+
+    private record Match(long id, double score) {
+    }
+
+    /**
+     * Ids in ascending order with their term frequencies, grown by doubling.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(long id, int frequency) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                frequencies[at] = frequency;
+                return;
+            }
+            int insertAt = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            frequencies[insertAt] = frequency;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            System.arraycopy(frequencies, at + 1, frequencies, at, size - at - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.InvalidQueryParameterException;
+import uk.gov.hmcts.reform.dev.mapper.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
+import uk.gov.hmcts.reform.dev.util.LongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keyword search over task titles and descriptions, answered from a {@link TaskSearchIndex} held in memory. The
+ * index is built by streaming the collection once the application is ready and then kept current by the task
+ * service's change events. Only the ranked ids come from the index; the tasks themselves are loaded in one
+ * {@code findAllById}, so a task deleted elsewhere drops out of the results rather than being returned stale.
+ *
+ * <p>Tasks created through other instances are not seen as events, so the index is rebuilt alongside the live one
+ * every {@code task.search.rebuild-interval} and swapped in when complete. Changes made while a rebuild runs are
+ * applied to both.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskSearchService {
+
+    static final int MAX_LIMIT = 100;
+
+    private final TaskStore repository;
+    private final TaskMapper mapper;
+    private volatile TaskSearchIndex index = new TaskSearchIndex();
+    private volatile TaskSearchIndex rebuilding;
+
+    public TaskSearchService(TaskStore repository, TaskMapper mapper) {
+        this.repository = repository;
+        this.mapper = mapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+    }
+
+    /**
+     * Returns up to {@code limit} tasks whose title or description contains every word of {@code query}, best match
+     * first, optionally only those in {@code status}.
+     */
+    public List<TaskDTO> search(String query, TaskStatus status, int limit) {
+        List<String> words = TaskSearchIndex.tokenize(query);
+        if (words.isEmpty()) {
+            throw new InvalidQueryParameterException("q must contain at least one word");
+        }
+        long[] ranked = index.search(words, status, Math.min(Math.max(limit, 1), MAX_LIMIT));
+        if (ranked.length == 0) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(ranked.length);
+        for (long id : ranked) {
+            ids.add(id);
+        }
+        LongObjectHashMap<Task> found = new LongObjectHashMap<>(ranked.length);
+        repository.findAllById(ids).forEach(task -> found.put(task.getId(), task));
+        List<TaskDTO> results = new ArrayList<>(found.size());
+        for (long id : ranked) {
+            Task task = found.get(id);
+            // The status may have changed elsewhere since it was indexed
+            if (task != null && (status == null || task.getStatus() == status)) {
+                results.add(mapper.toDto(task));
+            }
+        }
+        return results;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        // Read before the live index, so a rebuild swapped in between is still updated
+        TaskSearchIndex pending = rebuilding;
+        TaskSearchIndex live = index;
+        apply(live, event);
+        if (pending != null && pending != live) {
+            apply(pending, event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.search.rebuild-interval:30m}",
+               initialDelayString = "${task.search.rebuild-interval:30m}")
+    void rebuild() {
+        TaskSearchIndex fresh = new TaskSearchIndex();
+        rebuilding = fresh;
+        try (Stream<Task> tasks = repository.streamAllBy()) {
+            tasks.forEach(task -> fresh.index(task.getId(), task.getTitle(), task.getDescription(), task.getStatus()));
+            index = fresh;
+        } finally {
+            // A failed rebuild is dropped, and the live index keeps serving until the next one
+            rebuilding = null;
+        }
+        log.info("Task search index holds {} tasks", fresh.size());
+    }
+
+    private static void apply(TaskSearchIndex target, TaskChangedEvent event) {
+        TaskDTO task = event.task();
+        switch (event.type()) {
+            case CREATED -> target.index(task.id(), task.title(), task.description(), task.status());
+            case STATUS_CHANGED -> target.updateStatus(task.id(), task.status());
+            case DELETED -> target.remove(task.id());
+            default -> throw new IllegalStateException("Unexpected change type " + event.type());
+        }
+    }
+}
@@ -1,17 +1,51 @@
 package uk.gov.hmcts.reform.dev.service;
 
+import uk.gov.hmcts.reform.dev.models.BatchResult;
 import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+import uk.gov.hmcts.reform.dev.models.TaskPage;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.models.TaskStatusChange;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TaskService {
     TaskDTO createTask(TaskDTO taskDTO);
 
+    BatchResult createTasks(List<TaskDTO> taskDTOs);
+
     TaskDTO getTaskById(Long id);
 
+    /**
+     * Returns only the requested fields, projecting a cached task when there is one and reading a Mongo
+     * projection otherwise.
+     */
+    TaskDTO getTaskById(Long id, TaskFields fields);
+
     List<TaskDTO> getAllTasks();
 
+    /**
+     * Returns the {@link TaskChangeSequence} without loading any task, so a client's copy of the task list can be
+     * validated.
+     */
+    long getChangeSequence();
+
+    /**
+     * Lists tasks matching the query; filtering and sorting happen in Mongo.
+     */
+    List<TaskDTO> findTasks(TaskQuery query);
+
+    TaskPage getTaskPage(String cursor, int limit);
+
+    /**
+     * Streams every task straight off a Mongo cursor. The caller must close the returned stream.
+     */
+    Stream<TaskDTO> streamAllTasks();
+
     TaskDTO updateTaskById(Long id, TaskDTO taskDTO);
 
+    BatchResult updateTaskStatuses(List<TaskStatusChange> changes);
+
     void deleteTaskById(Long id);
 }
@@ -1,44 +1,210 @@
 package uk.gov.hmcts.reform.dev.service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.dev.enums.TaskEvent;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.BatchTooLargeException;
+import uk.gov.hmcts.reform.dev.exception.InvalidQueryParameterException;
 import uk.gov.hmcts.reform.dev.exception.InvalidStatusTransitionException;
+import uk.gov.hmcts.reform.dev.exception.TaskConflictException;
 import uk.gov.hmcts.reform.dev.exception.TaskNotFoundException;
 import uk.gov.hmcts.reform.dev.mapper.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.BatchItemResult;
+import uk.gov.hmcts.reform.dev.models.BatchResult;
 import uk.gov.hmcts.reform.dev.models.Task;
 import uk.gov.hmcts.reform.dev.models.TaskDTO;
-import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+import uk.gov.hmcts.reform.dev.models.TaskPage;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.models.TaskStatusChange;
+import uk.gov.hmcts.reform.dev.repository.TaskStatusUpdate;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
+import uk.gov.hmcts.reform.dev.util.LogRateLimiter;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @Transactional
+@Timed(value = "task.service", description = "Time spent in each TaskService method")
 public class TaskServiceImpl implements TaskService {
 
-    private final TaskRepository repository;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_BATCH_SIZE = 5000;
+    // Generated ids only collide with ids clients chose inside an already reserved block, so this is plenty
+    static final int MAX_ID_ATTEMPTS = 5;
+    // Per-request INFO lines on the update path; anything over this a second is only counted
+    private static final LogRateLimiter UPDATE_LOG = new LogRateLimiter(10);
+
+    private final TaskStore repository;
     private final TaskMapper mapper;
     private final TaskStateService taskStateService;
+    private final Validator validator;
+    private final TaskIdGenerator idGenerator;
+    private final AsyncCache<Long, TaskDTO> taskCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExistenceFilter existenceFilter;
+    private final TaskChangeSequence changeSequence;
 
-    public TaskServiceImpl(TaskRepository repository, TaskMapper mapper, TaskStateService taskStateService) {
+    public TaskServiceImpl(TaskStore repository, TaskMapper mapper, TaskStateService taskStateService,
+                           Validator validator, TaskIdGenerator idGenerator, AsyncCache<Long, TaskDTO> taskCache,
+                           ApplicationEventPublisher eventPublisher, TaskExistenceFilter existenceFilter,
+                           TaskChangeSequence changeSequence) {
         this.repository = repository;
         this.mapper = mapper;
         this.taskStateService = taskStateService;
+        this.validator = validator;
+        this.idGenerator = idGenerator;
+        this.taskCache = taskCache;
+        this.eventPublisher = eventPublisher;
+        this.existenceFilter = existenceFilter;
+        this.changeSequence = changeSequence;
     }
 
     @Override
     public TaskDTO createTask(TaskDTO taskDTO) {
         Task task = mapper.toEntity(taskDTO);
-        Task saved = repository.save(task);
-        return mapper.toDto(saved);
+        task.setCreatedAt(createdNow());
+        Task saved;
+        if (task.getId() == null) {
+            saved = saveWithGeneratedId(task);
+        } else {
+            saved = repository.save(task);
+            idGenerator.skipPast(saved.getId());
+        }
+        changeSequence.advance();
+        TaskDTO created = mapper.toDto(saved);
+        taskCache.put(created.id(), CompletableFuture.completedFuture(created));
+        eventPublisher.publishEvent(TaskChangedEvent.created(created));
+        return created;
+    }
+
+    @Override
+    public BatchResult createTasks(List<TaskDTO> taskDTOs) {
+        checkBatchSize(taskDTOs.size());
+        BatchItemResult[] results = new BatchItemResult[taskDTOs.size()];
+        List<Task> tasks = new ArrayList<>(taskDTOs.size());
+        List<Integer> taskIndexes = new ArrayList<>(taskDTOs.size());
+        BitSet generatedIds = new BitSet(taskDTOs.size());
+        Set<Long> seenIds = new HashSet<>();
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            Long id = taskDTO == null ? null : taskDTO.id();
+            String error = validate(taskDTO);
+            if (error == null && id != null && !seenIds.add(id)) {
+                error = "Duplicate task id " + id + " in batch";
+            }
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, id, error);
+                continue;
+            }
+            Task task = mapper.toEntity(taskDTO);
+            if (task.getId() == null) {
+                generatedIds.set(tasks.size());
+                task.setId(idGenerator.nextId());
+            }
+            // Bulk inserts bypass the template's version initialisation
+            task.setVersion(0L);
+            task.setCreatedAt(createdNow());
+            tasks.add(task);
+            taskIndexes.add(i);
+        }
+        Map<Integer, String> failures = insertWithGeneratedIdRetries(tasks, generatedIds);
+        if (failures.size() < tasks.size()) {
+            changeSequence.advance();
+        }
+        long highestClientId = Long.MIN_VALUE;
+        for (int j = 0; j < tasks.size(); j++) {
+            if (!generatedIds.get(j) && !failures.containsKey(j)) {
+                highestClientId = Math.max(highestClientId, tasks.get(j).getId());
+            }
+        }
+        if (highestClientId != Long.MIN_VALUE) {
+            idGenerator.skipPast(highestClientId);
+        }
+        for (int j = 0; j < tasks.size(); j++) {
+            int index = taskIndexes.get(j);
+            String failure = failures.get(j);
+            if (failure == null) {
+                results[index] = BatchItemResult.succeeded(index, tasks.get(j).getId());
+                eventPublisher.publishEvent(TaskChangedEvent.created(mapper.toDto(tasks.get(j))));
+            } else {
+                results[index] = BatchItemResult.failed(index, tasks.get(j).getId(), failure);
+            }
+        }
+        BatchResult result = BatchResult.of(results);
+        log.info("Batch create: {} succeeded, {} failed", result.succeeded(), result.failed());
+        return result;
     }
 
     @Override
     public TaskDTO getTaskById(Long id) {
-        return repository.findById(id)
-            .map(mapper::toDto)
+        requireMightExist(id);
+        CompletableFuture<TaskDTO> pending = new CompletableFuture<>();
+        CompletableFuture<TaskDTO> cached = taskCache.get(id, (key, executor) -> pending);
+        if (cached == pending) {
+            // This caller won the miss: load on its own thread, everyone else asking for the id waits on the future
+            try {
+                pending.complete(repository.findById(id).map(mapper::toDto).orElse(null));
+            } catch (RuntimeException ex) {
+                pending.completeExceptionally(ex);
+            }
+        }
+        TaskDTO taskDTO;
+        try {
+            taskDTO = cached.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+        // A null result is dropped by the cache, so missing ids are never remembered
+        if (taskDTO == null) {
+            throw new TaskNotFoundException(id);
+        }
+        return taskDTO;
+    }
+
+    @Override
+    public TaskDTO getTaskById(Long id, TaskFields fields) {
+        if (fields.isAll()) {
+            return getTaskById(id);
+        }
+        requireMightExist(id);
+        // A cached task is already in memory, so projecting it is cheaper than any read
+        CompletableFuture<TaskDTO> cached = taskCache.getIfPresent(id);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            TaskDTO taskDTO = cached.join();
+            if (taskDTO != null) {
+                return mapper.project(taskDTO, fields);
+            }
+        }
+        // Partial documents are not cached; the cache only ever holds whole tasks
+        return repository.findById(id, fields)
+            .map(task -> mapper.toDto(task, fields))
             .orElseThrow(() -> new TaskNotFoundException(id));
     }
 
@@ -49,34 +215,298 @@ public class TaskServiceImpl implements TaskService {
             .map(mapper::toDto)
             .toList();
     }
+
+    @Override
+    public long getChangeSequence() {
+        return changeSequence.current();
+    }
+
+    @Override
+    public List<TaskDTO> findTasks(TaskQuery query) {
+        if (query.dueAfter() != null && query.dueBefore() != null && !query.dueAfter().isBefore(query.dueBefore())) {
+            throw new InvalidQueryParameterException("dueAfter must be before dueBefore");
+        }
+        return repository.findByQuery(query)
+            .stream()
+            .map(task -> mapper.toDto(task, query.fields()))
+            .toList();
+    }
+
+    @Override
+    public TaskPage getTaskPage(String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long after = cursor == null || cursor.isBlank() ? Long.MIN_VALUE : TaskCursor.decode(cursor);
+        // Fetch one extra row so we only hand out a cursor when another page really exists
+        List<Task> tasks = repository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(pageSize + 1));
+        boolean hasMore = tasks.size() > pageSize;
+        List<TaskDTO> items = tasks.stream()
+            .limit(pageSize)
+            .map(mapper::toDto)
+            .toList();
+        String nextCursor = hasMore ? TaskCursor.encode(tasks.get(pageSize - 1).getId()) : null;
+        return new TaskPage(items, nextCursor);
+    }
+
+    @Override
+    public Stream<TaskDTO> streamAllTasks() {
+        return repository.streamAllBy().map(mapper::toDto);
+    }
+
     @Override
     public TaskDTO updateTaskById(Long id, TaskDTO taskDTO) {
-        Task task = repository.findById(id)
-            .orElseThrow(() -> new TaskNotFoundException(id));
-        log.info("Update requested: Task ID={}, Current Status={}, Requested Status={}",
-                 task.getId(), task.getStatus(), taskDTO.status());
-        if (taskDTO.status() != null && !taskDTO.status().equals(task.getStatus())) {
-            TaskEvent event = TaskMapper.statusToEvent(task.getStatus(), taskDTO.status());
-            if (event != null) {
-                taskStateService.applyEvent(task, event);
-                log.info("After StateMachine: Task ID={}, New Status={}", task.getId(), task.getStatus());
+        TaskStatus requested = taskDTO.status();
+        log.debug("Update requested: Task ID={}, Expected Version={}, Requested Status={}",
+                  id, taskDTO.version(), requested);
+        if (requested == null) {
+            log.debug("No status change required for Task ID={}", id);
+            return getTaskById(id);
+        }
+        requireMightExist(id);
+        // The transition rules become the query filter, so the check and the write are one round trip
+        Set<TaskStatus> allowedSources = taskStateService.allowedSources(requested);
+        Optional<Task> previous = allowedSources.isEmpty()
+            ? Optional.empty()
+            : repository.compareAndSetStatus(id, taskDTO.version(), allowedSources, requested);
+        if (previous.isEmpty()) {
+            return resolveRejectedUpdate(id, taskDTO, allowedSources);
+        }
+        changeSequence.advance();
+        Task task = previous.get();
+        TaskStatus from = task.getStatus();
+        taskStateService.applyEvent(task, mapper.statusToEvent(from, requested));
+        task.setVersion(task.getVersion() == null ? 1L : task.getVersion() + 1);
+        if (log.isInfoEnabled() && UPDATE_LOG.tryAcquire()) {
+            log.info("Update persisted: Task ID={}, {} -> {}, Version={}, Suppressed={}",
+                     id, from, task.getStatus(), task.getVersion(), UPDATE_LOG.drainSuppressed());
+        }
+        TaskDTO updated = mapper.toDto(task);
+        taskCache.put(id, CompletableFuture.completedFuture(updated));
+        eventPublisher.publishEvent(TaskChangedEvent.statusChanged(updated, from));
+        return updated;
+    }
+
+    @Override
+    public BatchResult updateTaskStatuses(List<TaskStatusChange> changes) {
+        checkBatchSize(changes.size());
+        BatchItemResult[] results = new BatchItemResult[changes.size()];
+        Map<Long, Task> current = repository.findStatusesByIdIn(changes.stream()
+                .filter(Objects::nonNull)
+                .map(TaskStatusChange::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskStatusUpdate> updates = new ArrayList<>(changes.size());
+        List<Integer> updateIndexes = new ArrayList<>(changes.size());
+        List<TaskEvent> updateEvents = new ArrayList<>(changes.size());
+        Set<Long> seenIds = new HashSet<>();
+        for (int i = 0; i < changes.size(); i++) {
+            TaskStatusChange change = changes.get(i);
+            if (change == null || change.id() == null || change.status() == null) {
+                results[i] = BatchItemResult.failed(i, change == null ? null : change.id(),
+                                                    "id and status are required");
+                continue;
+            }
+            Long id = change.id();
+            Task task = current.get(id);
+            if (!seenIds.add(id)) {
+                results[i] = BatchItemResult.failed(i, id, "Duplicate task id " + id + " in batch");
+            } else if (task == null) {
+                results[i] = BatchItemResult.failed(i, id, "Task not found with id " + id);
+            } else if (change.version() != null && !change.version().equals(task.getVersion())) {
+                results[i] = BatchItemResult.failed(i, id, "Task with id " + id + " was modified concurrently");
+            } else if (task.getStatus() == change.status()) {
+                results[i] = BatchItemResult.succeeded(i, id);
+            } else if (mapper.statusToEvent(task.getStatus(), change.status()) == null) {
+                taskStateService.recordRejected(task.getStatus(), change.status());
+                results[i] = BatchItemResult.failed(
+                    i, id, "Cannot change status from " + task.getStatus() + " to " + change.status());
             } else {
-                throw new InvalidStatusTransitionException(task.getStatus(), taskDTO.status());
+                updates.add(new TaskStatusUpdate(id, task.getVersion(), change.status()));
+                updateEvents.add(mapper.statusToEvent(task.getStatus(), change.status()));
+                updateIndexes.add(i);
             }
-        } else {
-            log.info("No status change required for Task ID={}", task.getId());
         }
-        repository.save(task);
-        log.info("Update persisted: Task ID={}, Final Status={}", task.getId(), task.getStatus());
-        return mapper.toDto(task);
+
+        int matched = repository.compareAndSetStatuses(updates);
+        if (matched > 0) {
+            changeSequence.advance();
+        }
+        taskCache.synchronous().invalidateAll(updates.stream().map(TaskStatusUpdate::id).toList());
+        // Bulk results only carry totals, so re-read just the batch to find out which writes lost a race
+        Map<Long, Task> after = matched == updates.size()
+            ? Map.of()
+            : repository.findStatusesByIdIn(updates.stream().map(TaskStatusUpdate::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskStatusUpdate> applied = new ArrayList<>(updates.size());
+        for (int j = 0; j < updates.size(); j++) {
+            TaskStatusUpdate update = updates.get(j);
+            int index = updateIndexes.get(j);
+            if (matched == updates.size() || wasApplied(update, after.get(update.id()))) {
+                results[index] = BatchItemResult.succeeded(index, update.id());
+                taskStateService.recordAccepted(updateEvents.get(j));
+                applied.add(update);
+            } else {
+                results[index] = BatchItemResult.failed(index, update.id(), "Task with id " + update.id()
+                    + " was modified concurrently");
+            }
+        }
+        publishStatusChanges(applied, current);
+        BatchResult result = BatchResult.of(results);
+        log.info("Batch status update: {} succeeded, {} failed", result.succeeded(), result.failed());
+        return result;
     }
 
+    /**
+     * Works out why a compare-and-set matched nothing. Only reached on the failure path, so the extra read
+     * never costs the common case a round trip.
+     */
+    private TaskDTO resolveRejectedUpdate(Long id, TaskDTO taskDTO, Set<TaskStatus> allowedSources) {
+        Task current = repository.findById(id)
+            .orElseThrow(() -> new TaskNotFoundException(id));
+        if (taskDTO.version() != null && !taskDTO.version().equals(current.getVersion())) {
+            taskCache.synchronous().invalidate(id);
+            throw new TaskConflictException(id);
+        }
+        if (current.getStatus() == taskDTO.status()) {
+            log.debug("No status change required for Task ID={}", id);
+            return mapper.toDto(current);
+        }
+        if (!allowedSources.contains(current.getStatus())) {
+            taskStateService.recordRejected(current.getStatus(), taskDTO.status());
+            throw new InvalidStatusTransitionException(current.getStatus(), taskDTO.status());
+        }
+        // The status was acceptable when we looked, so another writer changed it between the two calls
+        taskCache.synchronous().invalidate(id);
+        throw new TaskConflictException(id);
+    }
 
     @Override
     public void deleteTaskById(Long id) {
-        if (!repository.existsById(id)) {
+        requireMightExist(id);
+        // One round trip that deletes and also tells listeners which status the task is leaving
+        Task task = repository.removeById(id)
+            .orElseThrow(() -> new TaskNotFoundException(id));
+        changeSequence.advance();
+        taskCache.synchronous().invalidate(id);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id, task.getStatus()));
+    }
+
+    /**
+     * Saves a task under a freshly generated id, taking another one if a client already chose it.
+     */
+    private Task saveWithGeneratedId(Task task) {
+        for (int attempt = 1; ; attempt++) {
+            task.setId(idGenerator.nextId());
+            // A failed save leaves the initial version on the entity, which would turn the retry into an update
+            task.setVersion(null);
+            try {
+                return repository.save(task);
+            } catch (DuplicateKeyException ex) {
+                if (attempt == MAX_ID_ATTEMPTS) {
+                    throw ex;
+                }
+                log.warn("Generated task id {} was already taken, retrying with another", task.getId());
+            }
+        }
+    }
+
+    /**
+     * Inserts the batch, then gives each task with a generated id that failed a fresh id and inserts it again; the
+     * usual cause is an id a client already chose. Tasks with client-chosen ids are never retried.
+     *
+     * @return error messages keyed by the index of each task that was not inserted
+     */
+    private Map<Integer, String> insertWithGeneratedIdRetries(List<Task> tasks, BitSet generatedIds) {
+        Map<Integer, String> failures = new HashMap<>(repository.insertAllUnordered(tasks));
+        for (int attempt = 1; attempt < MAX_ID_ATTEMPTS; attempt++) {
+            List<Integer> retries = failures.keySet().stream().filter(generatedIds::get).sorted().toList();
+            if (retries.isEmpty()) {
+                break;
+            }
+            List<Task> retried = new ArrayList<>(retries.size());
+            for (int index : retries) {
+                Task task = tasks.get(index);
+                task.setId(idGenerator.nextId());
+                retried.add(task);
+            }
+            Map<Integer, String> stillFailing = repository.insertAllUnordered(retried);
+            for (int k = 0; k < retries.size(); k++) {
+                String failure = stillFailing.get(k);
+                if (failure == null) {
+                    failures.remove(retries.get(k));
+                } else {
+                    failures.put(retries.get(k), failure);
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Mongo keeps dates to the millisecond, so the stored creation time is truncated up front and the task handed
+     * back from a create carries the same value, and the same entity tag, as every later read.
+     */
+    static Instant createdNow() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private void requireMightExist(Long id) {
+        if (!existenceFilter.mightExist(id)) {
             throw new TaskNotFoundException(id);
         }
-        repository.deleteById(id);
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(size, MAX_BATCH_SIZE);
+        }
+    }
+
+    private String validate(TaskDTO taskDTO) {
+        if (taskDTO == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<TaskDTO>> violations = validator.validate(taskDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Publishes a STATUS_CHANGED event carrying the whole task for each applied update, as a single update does. The
+     * tasks are read back in one query, then given the status and version this batch wrote, so listeners see this
+     * change even when a later one has already landed.
+     */
+    private void publishStatusChanges(List<TaskStatusUpdate> applied, Map<Long, Task> before) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        Map<Long, Task> written = repository.findAllById(applied.stream().map(TaskStatusUpdate::id).toList())
+            .stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+        for (TaskStatusUpdate update : applied) {
+            TaskStatus from = before.get(update.id()).getStatus();
+            Task task = written.get(update.id());
+            if (task == null) {
+                // Deleted since the write, so the id is all that is left to report alongside the change
+                task = Task.builder().id(update.id()).build();
+            }
+            task.setStatus(update.target());
+            task.setVersion(update.expectedVersion() == null ? 1L : update.expectedVersion() + 1);
+            eventPublisher.publishEvent(TaskChangedEvent.statusChanged(mapper.toDto(task), from));
+        }
+    }
+
+    private static boolean wasApplied(TaskStatusUpdate update, Task task) {
+        long expectedVersion = update.expectedVersion() == null ? 1L : update.expectedVersion() + 1;
+        return task != null && task.getStatus() == update.target()
+            && task.getVersion() != null && task.getVersion() == expectedVersion;
     }
 }
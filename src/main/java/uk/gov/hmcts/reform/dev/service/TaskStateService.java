@@ -1,42 +1,78 @@
 package uk.gov.hmcts.reform.dev.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.statemachine.StateMachine;
-import org.springframework.statemachine.StateMachineContext;
-import org.springframework.statemachine.config.StateMachineFactory;
-import org.springframework.statemachine.support.DefaultStateMachineContext;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.dev.enums.TaskEvent;
 import uk.gov.hmcts.reform.dev.enums.TaskStatus;
 import uk.gov.hmcts.reform.dev.models.Task;
 
+import java.util.EnumMap;
+import java.util.Set;
+
 @Slf4j
 @Service
 public class TaskStateService {
 
-    private final StateMachineFactory<TaskStatus, TaskEvent> stateMachineFactory;
+    static final String TRANSITIONS_METER = "task.transitions";
+
+    private final TaskTransitionTable transitionTable;
+    // Registered up front so counting is an array lookup and an add, not a registry lookup per transition
+    private final EnumMap<TaskEvent, Counter> accepted = new EnumMap<>(TaskEvent.class);
+    private final EnumMap<TaskEvent, Counter> rejected = new EnumMap<>(TaskEvent.class);
 
-    public TaskStateService(StateMachineFactory<TaskStatus, TaskEvent> stateMachineFactory) {
-        this.stateMachineFactory = stateMachineFactory;
+    public TaskStateService(TaskTransitionTable transitionTable, MeterRegistry meterRegistry) {
+        this.transitionTable = transitionTable;
+        for (TaskEvent event : TaskEvent.values()) {
+            accepted.put(event, transitionCounter(meterRegistry, event, "accepted"));
+            rejected.put(event, transitionCounter(meterRegistry, event, "rejected"));
+        }
     }
 
     public void applyEvent(Task task, TaskEvent event) {
-        StateMachine<TaskStatus, TaskEvent> stateMachine = stateMachineFactory.getStateMachine();
-        StateMachineContext<TaskStatus, TaskEvent> context =
-            new DefaultStateMachineContext<>(task.getStatus(), null, null, null);
-        stateMachine.getStateMachineAccessor()
-            .doWithAllRegions(access -> access.resetStateMachine(context));
-        stateMachine.startReactively().block();
-        boolean accepted = stateMachine.sendEvent(event);
-        if (!accepted) {
+        TaskStatus newStatus = transitionTable.target(task.getStatus(), event);
+        if (newStatus == null) {
+            if (event != null) {
+                rejected.get(event).increment();
+            }
             throw new IllegalStateException(
                 "Event " + event + " cannot be applied from state " + task.getStatus()
             );
         }
-        TaskStatus newStatus = stateMachine.getState().getId();
+        accepted.get(event).increment();
         if (!newStatus.equals(task.getStatus())) {
             task.setStatus(newStatus);
         }
     }
 
+    /**
+     * Counts a transition that was applied in bulk without going through {@link #applyEvent(Task, TaskEvent)}.
+     */
+    public void recordAccepted(TaskEvent event) {
+        accepted.get(event).increment();
+    }
+
+    /**
+     * Counts a status change the state machine does not allow, against the event that would lead into {@code to}.
+     */
+    public void recordRejected(TaskStatus from, TaskStatus to) {
+        TaskEvent event = transitionTable.eventInto(to);
+        if (event != null) {
+            rejected.get(event).increment();
+        }
+        log.debug("Rejected status change {} -> {}", from, to);
+    }
+
+    public Set<TaskStatus> allowedSources(TaskStatus target) {
+        return transitionTable.sourcesOf(target);
+    }
+
+    private static Counter transitionCounter(MeterRegistry meterRegistry, TaskEvent event, String outcome) {
+        return Counter.builder(TRANSITIONS_METER)
+            .description("Task events accepted or rejected by the state machine")
+            .tag("event", event.name())
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
 }
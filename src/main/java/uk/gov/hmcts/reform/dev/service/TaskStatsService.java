@@ -0,0 +1,100 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.TaskStats;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a count of tasks per status in memory, so {@code GET /tasks/stats} never touches Mongo. The counts are
+ * seeded from one aggregation at startup and then moved by the task service's change events. Each count is a
+ * {@link LongAdder}, so concurrent writers update separate cells instead of contending on one value.
+ *
+ * <p>Writes made through other instances are not seen as events, so the counts are reconciled against a fresh
+ * aggregation every {@code task.stats.reconcile-interval}. A write that lands while the aggregation runs may be
+ * counted twice until the next reconcile.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskStatsService {
+
+    private final TaskStore repository;
+    private final ObjectProvider<OverdueTaskMonitor> overdueMonitor;
+    private final Map<TaskStatus, LongAdder> counts = new EnumMap<>(TaskStatus.class);
+
+    public TaskStatsService(TaskStore repository, ObjectProvider<OverdueTaskMonitor> overdueMonitor) {
+        this.repository = repository;
+        this.overdueMonitor = overdueMonitor;
+        // Every status is present up front, so the map itself is never written after construction
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, new LongAdder());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconcile();
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> adjust(event.task().status(), 1);
+            case STATUS_CHANGED -> {
+                adjust(event.previousStatus(), -1);
+                adjust(event.task().status(), 1);
+            }
+            case DELETED -> adjust(event.previousStatus(), -1);
+            default -> throw new IllegalStateException("Unexpected change type " + event.type());
+        }
+    }
+
+    public TaskStats getStats() {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (Map.Entry<TaskStatus, LongAdder> count : counts.entrySet()) {
+            long value = count.getValue().sum();
+            byStatus.put(count.getKey(), value);
+            total += value;
+        }
+        OverdueTaskMonitor monitor = overdueMonitor.getIfAvailable();
+        return new TaskStats(byStatus, total, monitor == null ? null : monitor.overdueCount());
+    }
+
+    /**
+     * Moves every count to what one {@code $group} aggregation reports, by adding the difference rather than
+     * resetting, so increments made meanwhile are not lost.
+     */
+    @Scheduled(fixedDelayString = "${task.stats.reconcile-interval:5m}",
+               initialDelayString = "${task.stats.reconcile-interval:5m}")
+    void reconcile() {
+        Map<TaskStatus, Long> before = new EnumMap<>(TaskStatus.class);
+        counts.forEach((status, count) -> before.put(status, count.sum()));
+        Map<TaskStatus, Long> actual = repository.countByStatus();
+        counts.forEach((status, count) -> {
+            long drift = actual.getOrDefault(status, 0L) - before.get(status);
+            if (drift != 0) {
+                count.add(drift);
+                log.info("Reconciled {} task count by {}", status, drift);
+            }
+        });
+    }
+
+    private void adjust(TaskStatus status, int delta) {
+        if (status != null) {
+            counts.get(status).add(delta);
+        }
+    }
+}
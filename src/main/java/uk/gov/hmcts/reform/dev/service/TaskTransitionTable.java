@@ -0,0 +1,97 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.transition.Transition;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.enums.TaskEvent;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Transitions declared in {@code TaskStateMachineConfig}, compiled once at startup into enum-indexed lookup tables.
+ * Lookups read immutable maps only, so they are thread-safe and allocate nothing per call.
+ */
+@Slf4j
+@Component
+public class TaskTransitionTable {
+
+    private final EnumMap<TaskStatus, EnumMap<TaskEvent, TaskStatus>> targets = new EnumMap<>(TaskStatus.class);
+    private final EnumMap<TaskStatus, EnumMap<TaskStatus, TaskEvent>> events = new EnumMap<>(TaskStatus.class);
+    private final EnumMap<TaskStatus, Set<TaskStatus>> sources = new EnumMap<>(TaskStatus.class);
+    private final EnumMap<TaskStatus, TaskEvent> eventsInto = new EnumMap<>(TaskStatus.class);
+
+    @Autowired
+    public TaskTransitionTable(StateMachineFactory<TaskStatus, TaskEvent> stateMachineFactory) {
+        this(stateMachineFactory.getStateMachine().getTransitions());
+    }
+
+    TaskTransitionTable(Collection<Transition<TaskStatus, TaskEvent>> transitions) {
+        for (TaskStatus status : TaskStatus.values()) {
+            targets.put(status, new EnumMap<>(TaskEvent.class));
+            events.put(status, new EnumMap<>(TaskStatus.class));
+        }
+        for (Transition<TaskStatus, TaskEvent> transition : transitions) {
+            if (transition.getTrigger() == null || transition.getTrigger().getEvent() == null) {
+                continue;
+            }
+            TaskStatus source = transition.getSource().getId();
+            TaskStatus target = transition.getTarget().getId();
+            TaskEvent event = transition.getTrigger().getEvent();
+            targets.get(source).put(event, target);
+            events.get(source).put(target, event);
+            eventsInto.putIfAbsent(target, event);
+        }
+        for (TaskStatus target : TaskStatus.values()) {
+            EnumSet<TaskStatus> allowed = EnumSet.noneOf(TaskStatus.class);
+            events.forEach((source, byTarget) -> {
+                if (byTarget.containsKey(target)) {
+                    allowed.add(source);
+                }
+            });
+            sources.put(target, Collections.unmodifiableSet(allowed));
+        }
+        log.info("Compiled task transition table: {}", targets);
+    }
+
+    /**
+     * Returns the status reached by applying {@code event} in {@code source}, or {@code null} if it is not accepted.
+     */
+    public TaskStatus target(TaskStatus source, TaskEvent event) {
+        if (source == null || event == null) {
+            return null;
+        }
+        return targets.get(source).get(event);
+    }
+
+    /**
+     * Returns the event that moves a task from {@code source} to {@code target}, or {@code null} if none does.
+     */
+    public TaskEvent eventFor(TaskStatus source, TaskStatus target) {
+        if (source == null || target == null) {
+            return null;
+        }
+        return events.get(source).get(target);
+    }
+
+    /**
+     * Returns the event that leads into {@code target} from some status, or {@code null} if nothing does. Used to
+     * attribute a rejected status change to the event it asked for.
+     */
+    public TaskEvent eventInto(TaskStatus target) {
+        return target == null ? null : eventsInto.get(target);
+    }
+
+    /**
+     * Returns every status from which {@code target} can be reached in a single transition.
+     */
+    public Set<TaskStatus> sourcesOf(TaskStatus target) {
+        return sources.get(target);
+    }
+}
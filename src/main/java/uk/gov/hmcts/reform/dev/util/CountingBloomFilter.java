@@ -0,0 +1,109 @@
+package uk.gov.hmcts.reform.dev.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter over primitive {@code long} keys. Each slot is a 4-bit counter, sixteen to a {@code long},
+ * so keys can be removed again as well as added. {@link #mightContain} never answers {@code false} for a key that
+ * was added and not removed; it answers {@code true} for an absent key with roughly the configured probability.
+ *
+ * <p>Counters that reach 15 stick there and are never decremented, which can only add false positives. Removing a
+ * key that was never added can cause false negatives, so callers must only remove keys they added. Thread-safe:
+ * every counter update is a compare-and-set on the word holding it.
+ */
+public final class CountingBloomFilter {
+
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long MAX_COUNT = (1L << COUNTER_BITS) - 1;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashes;
+
+    public CountingBloomFilter(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected keys must be positive and the false positive rate in (0, 1)");
+        }
+        double ln2 = Math.log(2);
+        long optimal = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = Math.toIntExact(Math.max(1, (optimal + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD));
+        this.words = new AtomicLongArray(wordCount);
+        this.counters = (long) wordCount * COUNTERS_PER_WORD;
+        this.hashes = Math.max(1, (int) Math.round((double) counters / expectedKeys * ln2));
+    }
+
+    public void add(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            update(Math.floorMod(h1 + i * h2, counters), 1);
+        }
+    }
+
+    /**
+     * Removes one earlier {@link #add} of {@code key}.
+     */
+    public void remove(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            update(Math.floorMod(h1 + i * h2, counters), -1);
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            if (count(Math.floorMod(h1 + i * h2, counters)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private long count(long counter) {
+        int shift = shift(counter);
+        return (words.get(word(counter)) >>> shift) & MAX_COUNT;
+    }
+
+    private void update(long counter, int delta) {
+        int word = word(counter);
+        int shift = shift(counter);
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            // A saturated counter no longer knows how many keys it stands for, so it stays saturated
+            if (count == MAX_COUNT || count + delta < 0) {
+                return;
+            }
+            long next = (current & ~(MAX_COUNT << shift)) | ((count + delta) << shift);
+            if (words.compareAndSet(word, current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static int word(long counter) {
+        return (int) (counter / COUNTERS_PER_WORD);
+    }
+
+    private static int shift(long counter) {
+        return (int) (counter % COUNTERS_PER_WORD) * COUNTER_BITS;
+    }
+
+    /**
+     * The SplitMix64 finalizer: spreads sequential ids over the whole 64-bit range.
+     */
+    private static long mix(long key) {
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
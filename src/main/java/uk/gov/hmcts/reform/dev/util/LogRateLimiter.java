@@ -0,0 +1,51 @@
+package uk.gov.hmcts.reform.dev.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@code perSecond} log lines a second through and counts the rest, so a diagnostic on a hot path
+ * cannot flood the log, or the appender queue behind it, under load. The current second and the number of lines
+ * let through in it are packed into one {@code long}, so a check is a read and at most one compare-and-set.
+ */
+public final class LogRateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final int perSecond;
+    private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogRateLimiter(int perSecond) {
+        this.perSecond = perSecond;
+    }
+
+    /**
+     * Returns {@code true} if the caller may log now; otherwise counts the line as suppressed.
+     */
+    public boolean tryAcquire() {
+        long second = System.nanoTime() / NANOS_PER_SECOND;
+        while (true) {
+            long current = window.get();
+            long next;
+            if (current >> 32 != second) {
+                next = (second << 32) | 1;
+            } else if ((int) current < perSecond) {
+                next = current + 1;
+            } else {
+                suppressed.increment();
+                return false;
+            }
+            if (window.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns how many lines were suppressed since the last call, to be reported on the line being logged.
+     */
+    public long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
@@ -1,30 +1,53 @@
 package uk.gov.hmcts.reform.dev.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import uk.gov.hmcts.reform.dev.config.TaskSerializationConfig;
 import uk.gov.hmcts.reform.dev.controllers.TaskController;
 import uk.gov.hmcts.reform.dev.enums.TaskStatus;
 import uk.gov.hmcts.reform.dev.exception.InvalidStatusTransitionException;
+import uk.gov.hmcts.reform.dev.exception.TaskConflictException;
+import uk.gov.hmcts.reform.dev.models.BatchItemResult;
+import uk.gov.hmcts.reform.dev.models.BatchResult;
 import uk.gov.hmcts.reform.dev.models.Task;
 import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+import uk.gov.hmcts.reform.dev.models.TaskPage;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.service.IdempotencyService;
 import uk.gov.hmcts.reform.dev.service.TaskService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import uk.gov.hmcts.reform.dev.util.TaskTestDataUtil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
@@ -33,6 +56,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 
 @AutoConfigureMockMvc(addFilters = false)
 @WebMvcTest(TaskController.class)
+@Import({TaskSerializationConfig.class, IdempotencyService.class})
 class TaskControllerTest {
 
     @Autowired
@@ -73,6 +97,57 @@ class TaskControllerTest {
             .andExpect(jsonPath("$.status", is("NEW")));
     }
 
+    @Test
+    void shouldAnswerCreateWithATakenIdWithConflict() throws Exception {
+        when(taskService.createTask(any(TaskDTO.class)))
+            .thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: task index: _id_"));
+        sampleTask.setDueDate(LocalDateTime.now().plusDays(7));
+
+        mockMvc.perform(post("/hmcts/api/task")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(sampleTask)))
+            .andExpect(status().isConflict())
+            .andExpect(content().string("A task with that id already exists"));
+    }
+
+    @Test
+    void shouldReplayCreateWithTheSameIdempotencyKey() throws Exception {
+        when(taskService.createTask(any(TaskDTO.class))).thenReturn(sampleTaskDTO);
+        sampleTask.setDueDate(LocalDateTime.now().plusDays(7));
+        String body = objectMapper.writeValueAsString(sampleTask);
+
+        mockMvc.perform(post("/hmcts/api/task").header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "false"))
+            .andExpect(jsonPath("$.id", is(1)));
+        mockMvc.perform(post("/hmcts/api/task").header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"))
+            .andExpect(jsonPath("$.id", is(1)));
+
+        verify(taskService, times(1)).createTask(any(TaskDTO.class));
+    }
+
+    @Test
+    void shouldRejectAnIdempotencyKeyReusedForADifferentTask() throws Exception {
+        when(taskService.createTask(any(TaskDTO.class))).thenReturn(sampleTaskDTO);
+        sampleTask.setDueDate(LocalDateTime.now().plusDays(7));
+        Task other = TaskTestDataUtil.sampleTask();
+        other.setTitle("Another task");
+        other.setDueDate(sampleTask.getDueDate());
+
+        mockMvc.perform(post("/hmcts/api/task").header("Idempotency-Key", "retry-2")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(sampleTask)))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/hmcts/api/task").header("Idempotency-Key", "retry-2")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(other)))
+            .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void shouldGetTaskById() throws Exception {
         when(taskService.getTaskById(1L)).thenReturn(sampleTaskDTO);
@@ -84,8 +159,44 @@ class TaskControllerTest {
             .andExpect(jsonPath("$.status", is("NEW")));
     }
 
+    @Test
+    void shouldNegotiateCborWhenAccepted() throws Exception {
+        when(taskService.getTaskById(1L)).thenReturn(sampleTaskDTO);
+
+        byte[] body = mockMvc.perform(get("/hmcts/api/task/1").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        CBORMapper cborMapper = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+        assertThat(cborMapper.readValue(body, TaskDTO.class)).isEqualTo(sampleTaskDTO);
+    }
+
+    @Test
+    void shouldOmitFieldsOutsideRequestedFieldset() throws Exception {
+        when(taskService.getTaskById(1L, TaskFields.parse("id,status")))
+            .thenReturn(TaskDTO.builder().id(1L).status(TaskStatus.NEW).build());
+
+        mockMvc.perform(get("/hmcts/api/task/1").param("fields", "id,status"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status", is("NEW")))
+            .andExpect(jsonPath("$.title").doesNotExist())
+            .andExpect(jsonPath("$.description").doesNotExist());
+    }
+
+    @Test
+    void shouldWriteNullFieldsWhenNoFieldsetIsRequested() throws Exception {
+        when(taskService.getTaskById(1L)).thenReturn(TaskDTO.builder().id(1L).title("Test Task").build());
+
+        mockMvc.perform(get("/hmcts/api/task/1"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("\"description\":null")))
+            .andExpect(content().string(containsString("\"dueDate\":null")));
+    }
+
     @Test
     void shouldGetAllTasks() throws Exception {
+        when(taskService.getChangeSequence()).thenReturn(7L);
         when(taskService.getAllTasks()).thenReturn(List.of(sampleTaskDTO, sampleTaskDTO));
 
         mockMvc.perform(get("/hmcts/api/tasks"))
@@ -93,6 +204,137 @@ class TaskControllerTest {
             .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    void shouldAnswerUnchangedTaskWithNotModified() throws Exception {
+        TaskDTO versioned = TaskDTO.builder().id(1L).title("Test Task").status(TaskStatus.NEW).version(3L).build();
+        when(taskService.getTaskById(1L)).thenReturn(versioned);
+
+        mockMvc.perform(get("/hmcts/api/task/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"v3\""));
+        mockMvc.perform(get("/hmcts/api/task/1").header(HttpHeaders.IF_NONE_MATCH, "\"v3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        mockMvc.perform(get("/hmcts/api/task/1").param("fields", "id,version")
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"v3\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldAnswerUnchangedTaskListWithoutLoadingIt() throws Exception {
+        when(taskService.getChangeSequence()).thenReturn(42L);
+
+        mockMvc.perform(get("/hmcts/api/tasks").header(HttpHeaders.IF_NONE_MATCH, "\"c2a\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"c2a\""));
+
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    void shouldTellARecreatedTaskFromTheOneItReplaced() throws Exception {
+        Instant firstCreated = Instant.parse("2030-01-01T09:00:00Z");
+        TaskDTO recreated = TaskDTO.builder().id(1L).title("Test Task").status(TaskStatus.NEW).version(0L)
+            .createdAt(firstCreated.plusSeconds(60)).build();
+        when(taskService.getTaskById(1L)).thenReturn(recreated);
+        String firstTag = "\"v0-" + Long.toString(firstCreated.toEpochMilli(), Character.MAX_RADIX) + "\"";
+
+        mockMvc.perform(get("/hmcts/api/task/1").header(HttpHeaders.IF_NONE_MATCH, firstTag))
+            .andExpect(status().isOk());
+        mockMvc.perform(put("/hmcts/api/task/1")
+                            .header(HttpHeaders.IF_MATCH, firstTag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                TaskDTO.builder().title("Test Task").status(TaskStatus.IN_PROGRESS).build())))
+            .andExpect(status().isPreconditionFailed());
+
+        verify(taskService, never()).updateTaskById(eq(1L), any(TaskDTO.class));
+    }
+
+    @Test
+    void shouldUseIfMatchAsTheExpectedVersion() throws Exception {
+        TaskDTO update = TaskDTO.builder().title("Test Task").status(TaskStatus.IN_PROGRESS).build();
+        when(taskService.getTaskById(1L)).thenReturn(TaskDTO.builder().id(1L).title("Test Task")
+                                                          .status(TaskStatus.NEW).version(3L).build());
+        TaskDTO updated = TaskDTO.builder().id(1L).title("Test Task").status(TaskStatus.IN_PROGRESS)
+            .version(4L).build();
+        when(taskService.updateTaskById(eq(1L), any(TaskDTO.class))).thenReturn(updated);
+
+        mockMvc.perform(put("/hmcts/api/task/1")
+                            .header(HttpHeaders.IF_MATCH, "\"v3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"v4\""));
+
+        verify(taskService).updateTaskById(1L, TaskDTO.builder().title("Test Task").status(TaskStatus.IN_PROGRESS)
+            .version(3L).build());
+    }
+
+    @Test
+    void shouldRejectStaleIfMatchWithPreconditionFailed() throws Exception {
+        TaskDTO update = TaskDTO.builder().title("Test Task").status(TaskStatus.IN_PROGRESS).build();
+        when(taskService.getTaskById(1L)).thenReturn(TaskDTO.builder().id(1L).title("Test Task")
+                                                          .status(TaskStatus.NEW).version(3L).build());
+        // Matched the cached copy, but another writer got to the stored task first
+        when(taskService.updateTaskById(eq(1L), any(TaskDTO.class))).thenThrow(new TaskConflictException(1L));
+
+        mockMvc.perform(put("/hmcts/api/task/1")
+                            .header(HttpHeaders.IF_MATCH, "\"v3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/hmcts/api/task/1")
+                            .header(HttpHeaders.IF_MATCH, "\"v2\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/hmcts/api/task/1")
+                            .header(HttpHeaders.IF_MATCH, "\"not-a-task-tag\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void shouldFilterAndSortTasks() throws Exception {
+        TaskQuery query = new TaskQuery(TaskStatus.NEW, LocalDateTime.of(2025, 10, 1, 0, 0), null, "-dueDate");
+        when(taskService.findTasks(query)).thenReturn(List.of(sampleTaskDTO));
+
+        mockMvc.perform(get("/hmcts/api/tasks")
+                            .param("status", "NEW")
+                            .param("dueAfter", "2025-10-01T00:00:00")
+                            .param("sort", "-dueDate"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void shouldRejectUnknownStatusFilter() throws Exception {
+        mockMvc.perform(get("/hmcts/api/tasks").param("status", "DONE"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldGetTaskPage() throws Exception {
+        when(taskService.getTaskPage("AAAAAAAAAAE", 2))
+            .thenReturn(new TaskPage(List.of(sampleTaskDTO, sampleTaskDTO), "AAAAAAAAAAM"));
+
+        mockMvc.perform(get("/hmcts/api/tasks").param("limit", "2").param("cursor", "AAAAAAAAAAE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items", hasSize(2)))
+            .andExpect(jsonPath("$.nextCursor", is("AAAAAAAAAAM")));
+    }
+
+    @Test
+    void shouldRejectFiltersOnATaskPage() throws Exception {
+        mockMvc.perform(get("/hmcts/api/tasks").param("limit", "2").param("status", "NEW"))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("status cannot be combined with limit"));
+
+        verify(taskService, never()).getTaskPage(any(), anyInt());
+    }
+
     @Test
     void shouldUpdateTaskById() throws Exception {
         when(taskService.updateTaskById(eq(1L), any(TaskDTO.class))).thenReturn(updatedTaskDTO);
@@ -116,6 +358,21 @@ class TaskControllerTest {
             .andExpect(status().isUnprocessableEntity());
     }
 
+    @Test
+    void shouldCreateTasksInBatch() throws Exception {
+        when(taskService.createTasks(anyList())).thenReturn(BatchResult.of(
+            BatchItemResult.succeeded(0, 1L),
+            BatchItemResult.failed(1, 1L, "Duplicate task id 1 in batch")));
+
+        mockMvc.perform(post("/hmcts/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(sampleTaskDTO, sampleTaskDTO))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded", is(1)))
+            .andExpect(jsonPath("$.failed", is(1)))
+            .andExpect(jsonPath("$.items[1].error", is("Duplicate task id 1 in batch")));
+    }
+
     @Test
     void shouldDeleteTaskById() throws Exception {
         doNothing().when(taskService).deleteTaskById(1L);
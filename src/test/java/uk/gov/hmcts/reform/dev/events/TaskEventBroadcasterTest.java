@@ -0,0 +1,53 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskEventBroadcasterTest {
+
+    // Drain loops are collected but never run, so every subscriber behaves like a client that stopped reading
+    private final List<Runnable> drains = new ArrayList<>();
+
+    @Test
+    void shouldDisconnectSubscriberThatFallsBehind() {
+        TaskEventBroadcaster broadcaster = broadcaster(TaskEventBroadcaster.OverflowPolicy.DISCONNECT);
+        broadcaster.subscribe();
+
+        publishCreated(broadcaster, 3);
+
+        assertThat(drains).hasSize(1);
+        assertThat(broadcaster.subscriberCount()).isZero();
+        assertThat(broadcaster.droppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDropOldestEventsForSlowSubscriber() {
+        TaskEventBroadcaster broadcaster = broadcaster(TaskEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        broadcaster.subscribe();
+        broadcaster.subscribe();
+
+        publishCreated(broadcaster, 5);
+
+        assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+        assertThat(broadcaster.droppedEvents()).isEqualTo(6);
+    }
+
+    private TaskEventBroadcaster broadcaster(TaskEventBroadcaster.OverflowPolicy policy) {
+        return new TaskEventBroadcaster(new ObjectMapper().registerModule(new JavaTimeModule()), 2, policy,
+                                        Duration.ofMinutes(1), Duration.ofSeconds(15), drains::add);
+    }
+
+    private static void publishCreated(TaskEventBroadcaster broadcaster, int count) {
+        for (long id = 1; id <= count; id++) {
+            broadcaster.onTaskChanged(TaskChangedEvent.created(TaskDTO.builder().id(id).title("Task " + id).build()));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.dev.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskDTOSerializerTest {
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    private final ObjectMapper tuned = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .modulesToInstall(new SimpleModule().addSerializer(new TaskDTOSerializer()))
+        .build();
+
+    @Test
+    void shouldWriteExactlyWhatTheReflectiveSerializerWrites() throws Exception {
+        List<TaskDTO> tasks = List.of(
+            TaskDTO.builder().id(1L).title("Review \"bundle\"").description("Line\nbreak").status(TaskStatus.NEW)
+                .dueDate(LocalDateTime.of(2030, 1, 2, 3, 4)).version(7L)
+                .createdAt(Instant.parse("2025-11-03T10:15:30.120Z")).build(),
+            // Fields left null are written as null, as the reflective serializer does
+            TaskDTO.builder().id(2L).status(TaskStatus.COMPLETED).build(),
+            TaskDTO.builder().dueDate(LocalDateTime.of(2030, 12, 31, 23, 59, 59, 120_000_000)).build(),
+            TaskDTO.builder().dueDate(LocalDateTime.of(2030, 6, 1, 0, 0, 0, 1)).build(),
+            TaskDTO.builder().dueDate(LocalDateTime.of(12_345, 6, 1, 0, 0)).build(),
+            TaskDTO.builder().id(3L).createdAt(Instant.parse("2025-11-03T10:15:00Z")).build());
+
+        for (TaskDTO task : tasks) {
+            assertThat(tuned.writeValueAsString(task)).isEqualTo(reflective.writeValueAsString(task));
+        }
+    }
+
+    @Test
+    void shouldFallBackToTimestampsWhenEnabled() throws Exception {
+        ObjectMapper timestamps = tuned.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        TaskDTO task = TaskDTO.builder().id(1L).dueDate(LocalDateTime.of(2030, 1, 2, 3, 4)).build();
+
+        assertThat(timestamps.writerWithView(TaskFields.Sparse.class).writeValueAsString(task))
+            .isEqualTo("{\"id\":1,\"dueDate\":[2030,1,2,3,4]}");
+    }
+
+    @Test
+    void shouldOmitNullFieldsOnlyUnderTheSparseView() throws Exception {
+        TaskDTO task = TaskDTO.builder().id(2L).status(TaskStatus.COMPLETED).build();
+
+        assertThat(tuned.writeValueAsString(task)).isEqualTo(
+            "{\"id\":2,\"title\":null,\"description\":null,\"status\":\"COMPLETED\",\"dueDate\":null,"
+                + "\"version\":null,\"createdAt\":null}");
+        assertThat(tuned.writerWithView(TaskFields.Sparse.class).writeValueAsString(task))
+            .isEqualTo("{\"id\":2,\"status\":\"COMPLETED\"}");
+    }
+}
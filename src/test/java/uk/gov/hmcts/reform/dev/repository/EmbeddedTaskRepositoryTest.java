@@ -0,0 +1,145 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddedTaskRepositoryTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverWritesFromTheLogAfterACrash() throws IOException {
+        EmbeddedTaskRepository repository = open();
+        repository.save(task(1L, TaskStatus.NEW));
+        repository.save(task(2L, TaskStatus.NEW));
+        repository.removeById(1L);
+
+        // Not closed: nothing but the log survives
+        EmbeddedTaskRepository recovered = open();
+
+        assertThat(recovered.findAll()).extracting(Task::getId).containsExactly(2L);
+        assertThat(recovered.findById(2L)).get().extracting(Task::getVersion).isEqualTo(0L);
+        assertThat(recovered.nextId()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldCombineTheSnapshotWithWritesMadeAfterIt() throws IOException {
+        EmbeddedTaskRepository repository = open();
+        repository.save(task(1L, TaskStatus.NEW));
+        repository.snapshot();
+        repository.compareAndSetStatus(1L, 0L, Set.of(TaskStatus.NEW), TaskStatus.IN_PROGRESS);
+        repository.save(task(2L, TaskStatus.NEW));
+
+        EmbeddedTaskRepository recovered = open();
+
+        assertThat(recovered.findById(1L)).get().extracting(Task::getStatus, Task::getVersion)
+            .containsExactly(TaskStatus.IN_PROGRESS, 1L);
+        assertThat(recovered.size()).isEqualTo(2);
+        assertThat(Files.exists(EmbeddedTaskLog.segment(directory, 0))).isFalse();
+    }
+
+    @Test
+    void shouldTruncateATornRecordAtTheEndOfTheLog() throws IOException {
+        EmbeddedTaskRepository repository = open();
+        repository.save(task(1L, TaskStatus.NEW));
+        Path segment = EmbeddedTaskLog.segment(directory, 0);
+        long validBytes = Files.size(segment);
+        // A record whose header claims more bytes than were written before the crash
+        Files.write(segment, new byte[]{0, 0, 0, 64, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        EmbeddedTaskRepository recovered = open();
+
+        assertThat(recovered.findAll()).extracting(Task::getId).containsExactly(1L);
+        assertThat(Files.size(segment)).isEqualTo(validBytes);
+        recovered.save(task(2L, TaskStatus.NEW));
+        assertThat(open().size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEnforceVersionsLikeMongo() throws IOException {
+        EmbeddedTaskRepository repository = open();
+        Task task = repository.save(task(1L, TaskStatus.NEW));
+        Task stale = repository.findById(1L).orElseThrow();
+
+        task.setTitle("Renamed");
+        repository.save(task);
+
+        assertThat(task.getVersion()).isEqualTo(1L);
+        assertThatThrownBy(() -> repository.save(stale)).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThatThrownBy(() -> repository.insert(task(1L, TaskStatus.NEW)))
+            .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void shouldNotExposeStoredTasksToCallers() throws IOException {
+        EmbeddedTaskRepository repository = open();
+        Task task = repository.save(task(1L, TaskStatus.NEW));
+
+        task.setStatus(TaskStatus.COMPLETED);
+        repository.findById(1L).orElseThrow().setTitle("Changed");
+
+        assertThat(repository.findById(1L)).get().extracting(Task::getStatus, Task::getTitle)
+            .containsExactly(TaskStatus.NEW, "Task 1");
+    }
+
+    @Test
+    void shouldFilterSortAndPageInMemory() throws IOException {
+        EmbeddedTaskRepository repository = open();
+        for (long id = 1; id <= 5; id++) {
+            Task task = task(id, id % 2 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.NEW);
+            task.setDueDate(DUE.plusDays(id));
+            repository.save(task);
+        }
+
+        List<Task> open = repository.findByQuery(new TaskQuery(TaskStatus.NEW, null, DUE.plusDays(5), "-dueDate"));
+
+        assertThat(open).extracting(Task::getId).containsExactly(3L, 1L);
+        assertThat(repository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(2))).extracting(Task::getId)
+            .containsExactly(2L, 3L);
+    }
+
+    @Test
+    void shouldStreamEveryTaskInIdOrderAcrossPages() throws IOException {
+        EmbeddedTaskRepository repository = open();
+        for (long id = 2500; id >= 1; id--) {
+            repository.save(task(id, id == 2000 ? TaskStatus.COMPLETED : TaskStatus.NEW));
+        }
+        repository.removeById(1500L);
+
+        try (Stream<Task> tasks = repository.streamAllBy()) {
+            assertThat(tasks.map(Task::getId).toList()).hasSize(2499).isSorted().doesNotContain(1500L);
+        }
+        try (Stream<Task> due = repository.streamDueTasksByStatusNotIn(Set.of(TaskStatus.COMPLETED))) {
+            assertThat(due).isEmpty();
+        }
+    }
+
+    private EmbeddedTaskRepository open() throws IOException {
+        return new EmbeddedTaskRepository(directory, false);
+    }
+
+    private static Task task(long id, TaskStatus status) {
+        return Task.builder().id(id).title("Task " + id).status(status).build();
+    }
+}
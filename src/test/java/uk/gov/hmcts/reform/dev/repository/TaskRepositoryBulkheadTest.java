@@ -0,0 +1,112 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.dev.exception.ServiceOverloadedException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskRepositoryBulkheadTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ProceedingJoinPoint call;
+
+    @Test
+    void shouldPassCallsThroughAndReleaseTheirPermits() throws Throwable {
+        TaskRepositoryBulkhead bulkhead = bulkhead(1, Duration.ofMillis(10));
+        when(call.proceed()).thenReturn("task").thenThrow(new IllegalStateException("boom"));
+
+        assertThat(bulkhead.guard(call)).isEqualTo("task");
+        assertThatThrownBy(() -> bulkhead.guard(call)).isInstanceOf(IllegalStateException.class);
+
+        doReturn("again").when(call).proceed();
+        assertThat(bulkhead.guard(call)).isEqualTo("again");
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldRejectWhenNoPermitFreesUpInTime() throws Throwable {
+        TaskRepositoryBulkhead bulkhead = bulkhead(1, Duration.ofMillis(20));
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = holdPermit(bulkhead, release);
+
+        ProceedingJoinPoint second = named("findById");
+        assertThatThrownBy(() -> bulkhead.guard(second))
+            .isInstanceOf(ServiceOverloadedException.class)
+            .hasMessageContaining("findById");
+        assertThat(meterRegistry.get("task.bulkhead.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        holder.join();
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldStopQueueingOnceLatencyIsOverTheThreshold() throws Throwable {
+        // A wait longer than the test timeout: the only way to pass is to be rejected without waiting
+        TaskRepositoryBulkhead bulkhead = bulkhead(1, Duration.ofSeconds(30));
+        when(call.proceed()).thenAnswer(invocation -> now.addAndGet(TimeUnit.SECONDS.toNanos(2)));
+        for (int i = 0; i < 10; i++) {
+            bulkhead.guard(call);
+        }
+        assertThat(bulkhead.overloaded()).isTrue();
+
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = holdPermit(bulkhead, release);
+        ProceedingJoinPoint second = named("findAll");
+        assertThatThrownBy(() -> bulkhead.guard(second)).isInstanceOf(ServiceOverloadedException.class);
+
+        release.countDown();
+        holder.join();
+    }
+
+    private TaskRepositoryBulkhead bulkhead(int maxConcurrent, Duration maxWait) {
+        return new TaskRepositoryBulkhead(maxConcurrent, maxWait, Duration.ofMillis(250), now::get, meterRegistry);
+    }
+
+    private Thread holdPermit(TaskRepositoryBulkhead bulkhead, CountDownLatch release) throws Throwable {
+        CountDownLatch holding = new CountDownLatch(1);
+        ProceedingJoinPoint blocking = mock(ProceedingJoinPoint.class);
+        when(blocking.proceed()).thenAnswer(invocation -> {
+            holding.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        Thread holder = Thread.ofPlatform().start(() -> {
+            try {
+                bulkhead.guard(blocking);
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        holding.await();
+        return holder;
+    }
+
+    private static ProceedingJoinPoint named(String method) {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        lenient().when(joinPoint.getSignature()).thenReturn(signature);
+        lenient().when(signature.getName()).thenReturn(method);
+        return joinPoint;
+    }
+}
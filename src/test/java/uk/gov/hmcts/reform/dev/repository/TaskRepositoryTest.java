@@ -3,26 +3,46 @@ package uk.gov.hmcts.reform.dev.repository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.mongodb.ExplainVerbosity;
+import org.bson.Document;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
 import uk.gov.hmcts.reform.dev.models.Task;
 import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
 import uk.gov.hmcts.reform.dev.util.TaskTestDataUtil;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @DataMongoTest
+@Import(TaskIndexInitializer.class)
 class TaskRepositoryTest {
 
     @Autowired
     private TaskRepository repository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TaskIndexInitializer indexInitializer;
     private Task sampleTask;
     private TaskDTO sampleTaskDTO;
     private TaskDTO updatedTaskDTO;
 
     @BeforeEach
     void setup() {
+        repository.deleteAll();
+        indexInitializer.ensureIndexes();
         sampleTask = TaskTestDataUtil.sampleTask();
         sampleTaskDTO = TaskTestDataUtil.sampleTaskDTO();
         updatedTaskDTO = TaskTestDataUtil.updatedTaskDTO();
@@ -35,4 +55,85 @@ class TaskRepositoryTest {
         assertThat(found).isPresent();
         assertThat(found.get().getTitle()).isEqualTo("Test Task");
     }
+
+    @Test
+    void shouldOnlySetStatusWhenCurrentStatusAndVersionMatch() {
+        Task saved = repository.save(sampleTask);
+
+        Optional<Task> stale = repository.compareAndSetStatus(
+            saved.getId(), saved.getVersion() + 1, Set.of(TaskStatus.NEW), TaskStatus.IN_PROGRESS);
+        Optional<Task> previous = repository.compareAndSetStatus(
+            saved.getId(), saved.getVersion(), Set.of(TaskStatus.NEW), TaskStatus.IN_PROGRESS);
+        Optional<Task> wrongStatus = repository.compareAndSetStatus(
+            saved.getId(), null, Set.of(TaskStatus.NEW), TaskStatus.CANCELLED);
+
+        assertThat(stale).isEmpty();
+        assertThat(previous).isPresent();
+        assertThat(previous.get().getStatus()).isEqualTo(TaskStatus.NEW);
+        assertThat(wrongStatus).isEmpty();
+        Task current = repository.findById(saved.getId()).orElseThrow();
+        assertThat(current.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(current.getVersion()).isEqualTo(saved.getVersion() + 1);
+        assertThat(current.getTitle()).isEqualTo("Test Task");
+    }
+
+    @Test
+    void shouldFilterByStatusAndDueDateAndSort() {
+        LocalDateTime due = LocalDateTime.of(2025, 10, 25, 10, 30);
+        repository.saveAll(List.of(
+            task(1L, TaskStatus.NEW, due.plusDays(2)),
+            task(2L, TaskStatus.NEW, due),
+            task(3L, TaskStatus.IN_PROGRESS, due),
+            task(4L, TaskStatus.NEW, due.plusDays(10))));
+
+        List<Task> found = repository.findByQuery(new TaskQuery(TaskStatus.NEW, due, due.plusDays(5), "-dueDate"));
+
+        assertThat(found.stream().map(Task::getId).toList()).isEqualTo(List.of(1L, 2L));
+    }
+
+    @Test
+    void shouldOnlyReadProjectedFields() {
+        repository.save(sampleTask);
+
+        Task task = repository.findById(sampleTask.getId(), TaskFields.parse("status,dueDate")).orElseThrow();
+        List<Task> listed = repository.findByQuery(
+            new TaskQuery(TaskStatus.NEW, null, null, null, TaskFields.parse("id")));
+
+        assertThat(task.getId()).isNull();
+        assertThat(task.getTitle()).isNull();
+        assertThat(task.getDescription()).isNull();
+        assertThat(task.getDueDate()).isEqualTo(sampleTask.getDueDate());
+        assertThat(listed.get(0).getId()).isEqualTo(sampleTask.getId());
+        assertThat(listed.get(0).getTitle()).isNull();
+    }
+
+    @Test
+    void shouldUseIndexesForStatusAndDueDateQueries() {
+        LocalDateTime due = LocalDateTime.of(2025, 10, 25, 10, 30);
+        repository.save(sampleTask);
+
+        assertThat(winningPlan(new TaskQuery(TaskStatus.NEW, null, null, null))).contains("IXSCAN");
+        assertThat(winningPlan(new TaskQuery(TaskStatus.NEW, due, due.plusDays(1), "dueDate")))
+            .contains("status_dueDate").doesNotContain("COLLSCAN");
+        assertThat(winningPlan(new TaskQuery(null, null, due, null)))
+            .contains("IXSCAN").doesNotContain("COLLSCAN");
+        assertThat(winningPlan(new TaskQuery(null, null, null, "dueDate")))
+            .contains("IXSCAN").doesNotContain("COLLSCAN");
+    }
+
+    private String winningPlan(TaskQuery taskQuery) {
+        Query query = TaskRepositoryCustomImpl.toQuery(taskQuery);
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+            .getRequiredPersistentEntity(Task.class);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        Document explain = mongoTemplate.getCollection("task")
+            .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+            .sort(queryMapper.getMappedSort(query.getSortObject(), entity))
+            .explain(ExplainVerbosity.QUERY_PLANNER);
+        return explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+    }
+
+    private static Task task(Long id, TaskStatus status, LocalDateTime dueDate) {
+        return Task.builder().id(id).title("Task " + id).status(status).dueDate(dueDate).build();
+    }
 }
@@ -0,0 +1,52 @@
+package uk.gov.hmcts.reform.dev.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import uk.gov.hmcts.reform.dev.config.AuthProperties;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthTokenFilterTest {
+
+    private static final AuthProperties.Token TOKEN = new AuthProperties.Token(
+        true, Duration.ofMinutes(15), "c2lnbmluZy1zZWNyZXQtZm9yLWF1dGgtdG9rZW4tdGVzdHM=");
+
+    private final AuthTokenService service = new AuthTokenService(TOKEN, Clock.systemUTC());
+    private final AuthTokenFilter filter = new AuthTokenFilter(service);
+    private final String bearer = "Bearer " + service.issue(UsernamePasswordAuthenticationToken.authenticated(
+        "user", null, AuthorityUtils.createAuthorityList("ROLE_USER"))).token();
+
+    @Test
+    void shouldAuthenticateBearerRequests() throws Exception {
+        assertThat(authenticationSeenBy("/hmcts/api/tasks")).isNotNull()
+            .extracting(Authentication::getName).isEqualTo("user");
+    }
+
+    @Test
+    void shouldNotLetABearerTokenMintANewOne() throws Exception {
+        // Left unauthenticated here, so the request only gets through with Basic credentials
+        assertThat(authenticationSeenBy(AuthTokenFilter.TOKEN_PATH)).isNull();
+    }
+
+    private Authentication authenticationSeenBy(String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.addHeader(HttpHeaders.AUTHORIZATION, bearer);
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication());
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        return seen.get();
+    }
+}
@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.dev.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import uk.gov.hmcts.reform.dev.config.AuthProperties;
+import uk.gov.hmcts.reform.dev.models.AuthToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+    private static final AuthProperties.Token TOKEN = new AuthProperties.Token(
+        true, Duration.ofMinutes(15), "c2lnbmluZy1zZWNyZXQtZm9yLWF1dGgtdG9rZW4tdGVzdHM=");
+
+    private final Authentication user = UsernamePasswordAuthenticationToken.authenticated(
+        "user", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+    @Test
+    void shouldVerifyIssuedToken() {
+        AuthTokenService service = new AuthTokenService(TOKEN, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        AuthToken token = service.issue(user);
+        Optional<Authentication> verified = service.verify(token.token());
+
+        assertThat(token.expiresAt()).isEqualTo(NOW.plus(Duration.ofMinutes(15)));
+        assertThat(verified).isPresent();
+        assertThat(verified.get().getName()).isEqualTo("user");
+        assertThat(verified.get().getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        AuthTokenService service = new AuthTokenService(TOKEN, Clock.fixed(NOW, ZoneOffset.UTC));
+        String token = service.issue(user).token();
+        String tampered = "Y" + token.substring(1);
+
+        assertThat(service.verify(tampered)).isEmpty();
+        assertThat(service.verify("garbage")).isEmpty();
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        String token = new AuthTokenService(TOKEN, Clock.fixed(NOW, ZoneOffset.UTC)).issue(user).token();
+        Clock later = Clock.fixed(NOW.plus(Duration.ofMinutes(16)), ZoneOffset.UTC);
+
+        assertThat(new AuthTokenService(TOKEN, later).verify(token)).isEmpty();
+    }
+}
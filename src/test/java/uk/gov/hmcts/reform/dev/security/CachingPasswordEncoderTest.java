@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.dev.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+    private CachingPasswordEncoder encoder;
+
+    @BeforeEach
+    void setup() {
+        encoder = new CachingPasswordEncoder(delegate, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldOnlyVerifyCorrectCredentialsOnce() {
+        when(delegate.matches("password", "hash")).thenReturn(true);
+
+        assertThat(encoder.matches("password", "hash")).isTrue();
+        assertThat(encoder.matches("password", "hash")).isTrue();
+
+        verify(delegate, times(1)).matches("password", "hash");
+    }
+
+    @Test
+    void shouldNotCacheFailedVerifications() {
+        when(delegate.matches("wrong", "hash")).thenReturn(false);
+
+        assertThat(encoder.matches("wrong", "hash")).isFalse();
+        assertThat(encoder.matches("wrong", "hash")).isFalse();
+
+        verify(delegate, times(2)).matches("wrong", "hash");
+    }
+
+    @Test
+    void shouldVerifyAgainWhenStoredHashChanges() {
+        when(delegate.matches("password", "hash")).thenReturn(true);
+        when(delegate.matches("password", "new-hash")).thenReturn(false);
+
+        assertThat(encoder.matches("password", "hash")).isTrue();
+        assertThat(encoder.matches("password", "new-hash")).isFalse();
+    }
+}
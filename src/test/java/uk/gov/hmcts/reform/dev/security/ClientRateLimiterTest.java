@@ -0,0 +1,59 @@
+package uk.gov.hmcts.reform.dev.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.config.AuthProperties;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private ClientRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setup() {
+        AuthProperties.RateLimit rateLimit = new AuthProperties.RateLimit(true, 3, 10, 100, Duration.ofMinutes(1));
+        rateLimiter = new ClientRateLimiter(rateLimit, now::get);
+    }
+
+    @Test
+    void shouldAdmitABurstUpToCapacityThenReject() {
+        assertThat(rateLimiter.tryAcquire("user")).isZero();
+        assertThat(rateLimiter.tryAcquire("user")).isZero();
+        assertThat(rateLimiter.tryAcquire("user")).isZero();
+
+        assertThat(rateLimiter.tryAcquire("user")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void shouldRefillAtTheConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("user");
+        }
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(rateLimiter.tryAcquire("user")).isZero();
+        assertThat(rateLimiter.tryAcquire("user")).isPositive();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(rateLimiter.tryAcquire("user")).isZero();
+        assertThat(rateLimiter.tryAcquire("user")).isZero();
+        assertThat(rateLimiter.tryAcquire("user")).isZero();
+        assertThat(rateLimiter.tryAcquire("user")).isPositive();
+    }
+
+    @Test
+    void shouldKeepASeparateBucketPerClient() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("user");
+        }
+
+        assertThat(rateLimiter.tryAcquire("user")).isPositive();
+        assertThat(rateLimiter.tryAcquire("admin")).isZero();
+    }
+}
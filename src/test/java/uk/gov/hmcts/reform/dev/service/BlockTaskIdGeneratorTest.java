@@ -0,0 +1,146 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlockTaskIdGeneratorTest {
+
+    @Mock
+    private MongoOperations mongoOperations;
+
+    @Test
+    void shouldReserveOneBlockPerBlockSizeIds() {
+        AtomicLong counter = stubCounter();
+        BlockTaskIdGenerator generator = new BlockTaskIdGenerator(mongoOperations, 10);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).startsWith(1L, 2L, 3L).endsWith(25L).doesNotHaveDuplicates();
+        assertThat(counter.get()).isEqualTo(30L);
+        verify(mongoOperations, times(3)).findAndModify(
+            any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(Document.class), eq(BlockTaskIdGenerator.COUNTERS_COLLECTION));
+    }
+
+    @Test
+    void shouldHandOutUniqueIdsAcrossThreads() throws Exception {
+        stubCounter();
+        BlockTaskIdGenerator generator = new BlockTaskIdGenerator(mongoOperations, 100);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                workers.add(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize(40_000);
+    }
+
+    @Test
+    void shouldRaiseTheCounterPastTheHighestClientChosenIdInOneWrite() {
+        BlockTaskIdGenerator generator = new BlockTaskIdGenerator(mongoOperations, 10);
+
+        generator.skipPast(500L);
+        generator.skipPast(700L);
+        generator.skipPast(600L);
+        verifyNoInteractions(mongoOperations);
+        generator.publishClientIds();
+        generator.publishClientIds();
+
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoOperations).upsert(
+            any(Query.class), update.capture(), eq(BlockTaskIdGenerator.COUNTERS_COLLECTION));
+        Document max = update.getValue().getUpdateObject().get("$max", Document.class);
+        assertThat(max.get(BlockTaskIdGenerator.SEQUENCE)).isEqualTo(700L);
+    }
+
+    @Test
+    void shouldReserveTheNextBlockAboveAClientChosenId() {
+        AtomicLong counter = stubCounter();
+        when(mongoOperations.upsert(
+            any(Query.class), any(UpdateDefinition.class), eq(BlockTaskIdGenerator.COUNTERS_COLLECTION)))
+            .thenAnswer(invocation -> {
+                UpdateDefinition update = invocation.getArgument(1);
+                long max = ((Number) update.getUpdateObject().get("$max", Document.class)
+                    .get(BlockTaskIdGenerator.SEQUENCE)).longValue();
+                counter.accumulateAndGet(max, Math::max);
+                return null;
+            });
+        BlockTaskIdGenerator generator = new BlockTaskIdGenerator(mongoOperations, 10);
+
+        generator.skipPast(500L);
+
+        assertThat(generator.nextId()).isEqualTo(501L);
+    }
+
+    @Test
+    void shouldNotTouchTheCounterForAnIdBelowItsOwnBlock() {
+        stubCounter();
+        BlockTaskIdGenerator generator = new BlockTaskIdGenerator(mongoOperations, 10);
+        generator.nextId();
+
+        generator.skipPast(5L);
+        generator.publishClientIds();
+
+        verify(mongoOperations, never()).upsert(any(Query.class), any(UpdateDefinition.class), any(String.class));
+    }
+
+    private AtomicLong stubCounter() {
+        AtomicLong counter = new AtomicLong();
+        when(mongoOperations.findOne(any(Query.class), eq(Task.class))).thenReturn(null);
+        when(mongoOperations.findAndModify(
+            any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(Document.class), eq(BlockTaskIdGenerator.COUNTERS_COLLECTION)))
+            .thenAnswer(invocation -> {
+                UpdateDefinition update = invocation.getArgument(1);
+                long increment = ((Number) update.getUpdateObject().get("$inc", Document.class)
+                    .get(BlockTaskIdGenerator.SEQUENCE)).longValue();
+                return new Document(BlockTaskIdGenerator.SEQUENCE, counter.addAndGet(increment));
+            });
+        return counter;
+    }
+}
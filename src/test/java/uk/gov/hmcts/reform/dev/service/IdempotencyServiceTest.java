@@ -0,0 +1,92 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import uk.gov.hmcts.reform.dev.exception.IdempotencyKeyMismatchException;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.util.TaskTestDataUtil;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    private final IdempotencyService idempotencyService = new IdempotencyService(null, 100, Duration.ofMinutes(1));
+    private final TaskDTO request = TaskTestDataUtil.sampleTaskDTO();
+    private final AtomicInteger creates = new AtomicInteger();
+
+    @Test
+    void shouldRunOnceAndReplayTheOriginalTask() {
+        IdempotencyService.Outcome first = idempotencyService.createOnce("key", request, this::create);
+        IdempotencyService.Outcome second = idempotencyService.createOnce("key", request, this::create);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.task()).isSameAs(first.task());
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldMakeConcurrentDuplicatesWaitForTheFirstRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotencyService.Outcome> first = CompletableFuture.supplyAsync(
+            () -> idempotencyService.createOnce("key", request, () -> {
+                started.countDown();
+                await(release);
+                return create();
+            }));
+        started.await();
+
+        CompletableFuture<IdempotencyService.Outcome> duplicate = CompletableFuture.supplyAsync(
+            () -> idempotencyService.createOnce("key", request, this::create));
+        assertThat(duplicate).isNotDone();
+        release.countDown();
+
+        assertThat(duplicate.get().task()).isSameAs(first.get().task());
+        assertThat(duplicate.get().replayed()).isTrue();
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectTheKeyForADifferentRequest() {
+        idempotencyService.createOnce("key", request, this::create);
+        TaskDTO different = TaskDTO.builder().title("Something else").build();
+
+        assertThatThrownBy(() -> idempotencyService.createOnce("key", different, this::create))
+            .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    void shouldRunAgainAfterAFailure() {
+        assertThatThrownBy(() -> idempotencyService.createOnce("key", request, () -> {
+            throw new IllegalStateException("Mongo unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyService.Outcome retry = idempotencyService.createOnce("key", request, this::create);
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(creates).hasValue(1);
+    }
+
+    private TaskDTO create() {
+        creates.incrementAndGet();
+        return TaskDTO.builder().id(42L).title(request.title()).status(request.status()).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
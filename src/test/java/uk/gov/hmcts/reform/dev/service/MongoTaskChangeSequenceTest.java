@@ -0,0 +1,101 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MongoTaskChangeSequenceTest {
+
+    @Mock
+    private MongoOperations mongoOperations;
+    private MongoTaskChangeSequence sequence;
+
+    @BeforeEach
+    void setup() {
+        sequence = new MongoTaskChangeSequence(mongoOperations);
+    }
+
+    @Test
+    void shouldCountWritesWithoutTouchingMongo() {
+        sequence.advance();
+        sequence.advance();
+
+        verifyNoInteractions(mongoOperations);
+    }
+
+    @Test
+    void shouldPublishPendingWritesInOneIncrement() {
+        AtomicLong counter = stubIncrement();
+        sequence.advance();
+        sequence.advance();
+        sequence.advance();
+
+        sequence.publish();
+        sequence.publish();
+
+        assertThat(counter.get()).isEqualTo(3);
+        verify(mongoOperations, times(1)).findAndModify(
+            any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(Document.class), eq(BlockTaskIdGenerator.COUNTERS_COLLECTION));
+    }
+
+    @Test
+    void shouldSeeItsOwnWritesOnTheNextRead() {
+        stubIncrement().set(10);
+        when(mongoOperations.findById(MongoTaskChangeSequence.CHANGES_COUNTER, Document.class,
+                                      BlockTaskIdGenerator.COUNTERS_COLLECTION))
+            .thenReturn(new Document(BlockTaskIdGenerator.SEQUENCE, 11L));
+
+        sequence.advance();
+
+        assertThat(sequence.current()).isEqualTo(11);
+        assertThat(sequence.current()).isEqualTo(11);
+    }
+
+    @Test
+    void shouldKeepWritesWhosePublishFailed() {
+        when(mongoOperations.findAndModify(
+            any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(Document.class), eq(BlockTaskIdGenerator.COUNTERS_COLLECTION)))
+            .thenThrow(new IllegalStateException("Mongo is down"))
+            .thenReturn(new Document(BlockTaskIdGenerator.SEQUENCE, 2L));
+        sequence.advance();
+        sequence.advance();
+
+        assertThatThrownBy(sequence::publish).isInstanceOf(IllegalStateException.class);
+        assertThat(sequence.current()).isEqualTo(2);
+    }
+
+    private AtomicLong stubIncrement() {
+        AtomicLong counter = new AtomicLong();
+        when(mongoOperations.findAndModify(
+            any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+            eq(Document.class), eq(BlockTaskIdGenerator.COUNTERS_COLLECTION)))
+            .thenAnswer(invocation -> {
+                UpdateDefinition update = invocation.getArgument(1);
+                long increment = ((Number) update.getUpdateObject().get("$inc", Document.class)
+                    .get(BlockTaskIdGenerator.SEQUENCE)).longValue();
+                return new Document(BlockTaskIdGenerator.SEQUENCE, counter.addAndGet(increment));
+            });
+        return counter;
+    }
+}
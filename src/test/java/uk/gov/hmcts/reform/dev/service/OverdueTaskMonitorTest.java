@@ -0,0 +1,146 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.events.TaskOverdueEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueTaskMonitorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Mock
+    private TaskStore repository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    private MutableClock clock;
+    private OverdueTaskMonitor monitor;
+
+    @BeforeEach
+    void setup() {
+        clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        // A small wheel so deadlines a few seconds out already need more than one revolution
+        monitor = new OverdueTaskMonitor(repository, eventPublisher, clock, Duration.ofSeconds(1), 4);
+    }
+
+    @Test
+    void shouldFireLoadedTasksOnceTheyPassTheirDueDate() {
+        Task overdue = Task.builder().id(1L).status(TaskStatus.NEW).dueDate(NOW.minusDays(1)).build();
+        Task later = Task.builder().id(2L).status(TaskStatus.IN_PROGRESS).dueDate(NOW.plusSeconds(10)).build();
+        when(repository.streamDueTasksByStatusNotIn(OverdueTaskMonitor.CLOSED_STATUSES))
+            .thenReturn(Stream.of(overdue, later));
+
+        monitor.load();
+
+        // Already overdue before the restart, so counted but not announced again
+        assertThat(monitor.overdueCount()).isEqualTo(1);
+        assertThat(monitor.tick()).isEmpty();
+        clock.advance(Duration.ofSeconds(9));
+        assertThat(monitor.tick()).isEmpty();
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(monitor.tick()).containsExactly(new TaskOverdueEvent(2L, NOW.plusSeconds(10)));
+        assertThat(monitor.tick()).isEmpty();
+        verify(eventPublisher).publishEvent(new TaskOverdueEvent(2L, NOW.plusSeconds(10)));
+        verifyNoMoreInteractions(eventPublisher);
+        assertThat(monitor.overdueCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReconcileTheOverdueCountWithTheStore() {
+        monitor.onTaskChanged(TaskChangedEvent.created(task(1L, TaskStatus.NEW, NOW.plusSeconds(1))));
+        clock.advance(Duration.ofSeconds(1));
+        monitor.tick();
+        // Task 1 was closed through another instance; task 3 became overdue there; task 4 is still on the wheel
+        monitor.onTaskChanged(TaskChangedEvent.created(task(4L, TaskStatus.NEW, NOW.plusSeconds(1))));
+        when(repository.streamDueTasksByStatusNotIn(OverdueTaskMonitor.CLOSED_STATUSES)).thenReturn(Stream.of(
+            Task.builder().id(3L).status(TaskStatus.NEW).dueDate(NOW.minusDays(1)).build(),
+            Task.builder().id(4L).status(TaskStatus.NEW).dueDate(NOW.plusSeconds(1)).build()));
+
+        monitor.reconcile();
+
+        assertThat(monitor.overdueCount()).isEqualTo(1);
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(monitor.tick()).extracting(TaskOverdueEvent::id).containsExactly(4L);
+        assertThat(monitor.overdueCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldTrackCreatesAndDropClosedOrDeletedTasks() {
+        monitor.onTaskChanged(TaskChangedEvent.created(task(1L, TaskStatus.NEW, NOW.plusSeconds(2))));
+        monitor.onTaskChanged(TaskChangedEvent.created(task(2L, TaskStatus.NEW, NOW.plusSeconds(2))));
+        monitor.onTaskChanged(TaskChangedEvent.created(task(3L, TaskStatus.NEW, NOW.plusSeconds(2))));
+        monitor.onTaskChanged(TaskChangedEvent.created(task(4L, TaskStatus.COMPLETED, NOW.plusSeconds(2))));
+        monitor.onTaskChanged(TaskChangedEvent.statusChanged(task(1L, TaskStatus.IN_PROGRESS, null), TaskStatus.NEW));
+        monitor.onTaskChanged(TaskChangedEvent.statusChanged(task(2L, TaskStatus.CANCELLED, null), TaskStatus.NEW));
+        monitor.onTaskChanged(TaskChangedEvent.deleted(3L, TaskStatus.NEW));
+
+        assertThat(monitor.scheduledCount()).isEqualTo(1);
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(monitor.tick()).extracting(TaskOverdueEvent::id).containsExactly(1L);
+        assertThat(monitor.scheduledCount()).isZero();
+        assertThat(monitor.overdueCount()).isEqualTo(1);
+
+        monitor.onTaskChanged(TaskChangedEvent.statusChanged(task(1L, TaskStatus.COMPLETED, null),
+                                                             TaskStatus.IN_PROGRESS));
+        assertThat(monitor.overdueCount()).isZero();
+    }
+
+    private static TaskDTO task(Long id, TaskStatus status, LocalDateTime dueDate) {
+        return TaskDTO.builder().id(id).status(status).dueDate(dueDate).build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private final AtomicLong millis;
+
+        MutableClock(Instant start) {
+            this.millis = new AtomicLong(start.toEpochMilli());
+        }
+
+        void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+    }
+}
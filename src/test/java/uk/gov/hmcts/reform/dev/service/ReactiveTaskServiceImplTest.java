@@ -0,0 +1,131 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import uk.gov.hmcts.reform.dev.enums.TaskEvent;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.exception.InvalidStatusTransitionException;
+import uk.gov.hmcts.reform.dev.exception.TaskNotFoundException;
+import uk.gov.hmcts.reform.dev.mapper.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.repository.ReactiveTaskRepository;
+import uk.gov.hmcts.reform.dev.util.TaskTestDataUtil;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTaskServiceImplTest {
+
+    @Mock
+    private ReactiveTaskRepository repository;
+    @Mock
+    private TaskMapper mapper;
+    @Mock
+    private TaskStateService taskStateService;
+    @Mock
+    private TaskIdGenerator idGenerator;
+    @InjectMocks
+    private ReactiveTaskServiceImpl taskService;
+    private Task sampleTask;
+    private TaskDTO sampleTaskDTO;
+    private TaskDTO updatedTaskDTO;
+
+    @BeforeEach
+    void setup() {
+        sampleTask = TaskTestDataUtil.sampleTask();
+        sampleTaskDTO = TaskTestDataUtil.sampleTaskDTO();
+        updatedTaskDTO = TaskTestDataUtil.updatedTaskDTO();
+    }
+
+    @Test
+    void shouldGetTaskById() {
+        when(repository.findById(1L)).thenReturn(Mono.just(sampleTask));
+        when(mapper.toDto(sampleTask)).thenReturn(sampleTaskDTO);
+
+        StepVerifier.create(taskService.getTaskById(1L))
+            .expectNext(sampleTaskDTO)
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldSignalNotFoundForMissingTask() {
+        when(repository.findById(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.getTaskById(1L))
+            .expectError(TaskNotFoundException.class)
+            .verify();
+    }
+
+    @Test
+    void shouldTakeAnotherIdWhenAClientAlreadyChoseTheGeneratedOne() {
+        Task withoutId = TaskTestDataUtil.sampleTask();
+        withoutId.setId(null);
+        when(mapper.toEntity(sampleTaskDTO)).thenReturn(withoutId);
+        when(idGenerator.nextId()).thenReturn(42L, 43L);
+        when(repository.save(withoutId))
+            .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")))
+            .thenReturn(Mono.just(withoutId));
+        when(mapper.toDto(withoutId)).thenReturn(sampleTaskDTO);
+
+        StepVerifier.create(taskService.createTask(sampleTaskDTO))
+            .expectNext(sampleTaskDTO)
+            .verifyComplete();
+
+        assertThat(withoutId.getId()).isEqualTo(43L);
+        verify(idGenerator, never()).skipPast(anyLong());
+    }
+
+    @Test
+    void shouldMoveGeneratedIdsPastAClientChosenId() {
+        when(mapper.toEntity(sampleTaskDTO)).thenReturn(sampleTask);
+        when(repository.save(sampleTask)).thenReturn(Mono.just(sampleTask));
+        when(mapper.toDto(sampleTask)).thenReturn(sampleTaskDTO);
+
+        StepVerifier.create(taskService.createTask(sampleTaskDTO))
+            .expectNext(sampleTaskDTO)
+            .verifyComplete();
+
+        verify(idGenerator).skipPast(1L);
+        verify(idGenerator, never()).nextId();
+    }
+
+    @Test
+    void shouldCommitTransitionWithCompareAndSet() {
+        when(taskStateService.allowedSources(TaskStatus.IN_PROGRESS)).thenReturn(Set.of(TaskStatus.NEW));
+        when(repository.compareAndSetStatus(1L, null, Set.of(TaskStatus.NEW), TaskStatus.IN_PROGRESS))
+            .thenReturn(Mono.just(sampleTask));
+        when(mapper.statusToEvent(TaskStatus.NEW, TaskStatus.IN_PROGRESS)).thenReturn(TaskEvent.START);
+        when(mapper.toDto(sampleTask)).thenReturn(updatedTaskDTO);
+
+        StepVerifier.create(taskService.updateTaskById(1L, updatedTaskDTO))
+            .expectNext(updatedTaskDTO)
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectInvalidTransition() {
+        TaskDTO completeUpdate = TaskDTO.builder().id(1L).title("Test Task").status(TaskStatus.COMPLETED).build();
+        when(taskStateService.allowedSources(TaskStatus.COMPLETED)).thenReturn(Set.of(TaskStatus.IN_PROGRESS));
+        when(repository.compareAndSetStatus(1L, null, Set.of(TaskStatus.IN_PROGRESS), TaskStatus.COMPLETED))
+            .thenReturn(Mono.empty());
+        when(repository.findById(1L)).thenReturn(Mono.just(sampleTask));
+
+        StepVerifier.create(taskService.updateTaskById(1L, completeUpdate))
+            .expectError(InvalidStatusTransitionException.class)
+            .verify();
+    }
+}
@@ -0,0 +1,102 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.dev.enums.TaskChangeType;
+import uk.gov.hmcts.reform.dev.enums.TaskEvent;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskLogEntry;
+import uk.gov.hmcts.reform.dev.repository.TaskLogRepository;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskLogAppenderTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T09:00:00Z");
+
+    @Mock
+    private TaskLogRepository repository;
+    @Mock
+    private TaskTransitionTable transitionTable;
+    private TaskLogAppender appender;
+
+    @BeforeEach
+    void setup() {
+        appender = new TaskLogAppender(repository, transitionTable, Clock.fixed(NOW, ZoneOffset.UTC), 100, 2);
+    }
+
+    @Test
+    void shouldInsertQueuedEntriesTogetherUpToTheBatchSize() throws InterruptedException {
+        when(transitionTable.eventInto(TaskStatus.IN_PROGRESS)).thenReturn(TaskEvent.START);
+        TaskDTO created = TaskDTO.builder().id(1L).title("Review").status(TaskStatus.NEW)
+            .dueDate(LocalDateTime.of(2030, 2, 1, 9, 0)).version(0L).createdAt(NOW.minusSeconds(1)).build();
+        appender.onTaskChanged(TaskChangedEvent.created(created));
+        appender.onTaskChanged(TaskChangedEvent.statusChanged(
+            TaskDTO.builder().id(1L).status(TaskStatus.IN_PROGRESS).version(1L).build(), TaskStatus.NEW));
+        appender.onTaskChanged(TaskChangedEvent.deleted(1L, TaskStatus.IN_PROGRESS));
+
+        assertThat(appender.commitPending()).isTrue();
+        assertThat(appender.commitPending()).isTrue();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskLogEntry>> batches = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).insert(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(batches.getAllValues().get(0)).containsExactly(
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.CREATED).status(TaskStatus.NEW).title("Review")
+                .dueDate(created.dueDate()).version(0L).createdAt(created.createdAt()).recordedAt(NOW).build(),
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.STATUS_CHANGED).event(TaskEvent.START)
+                .status(TaskStatus.IN_PROGRESS).version(1L).recordedAt(NOW).build());
+        assertThat(batches.getAllValues().get(1)).extracting(TaskLogEntry::getType)
+            .containsExactly(TaskChangeType.DELETED);
+    }
+
+    @Test
+    void shouldKeepCommittingAfterAFailedInsert() throws InterruptedException {
+        when(repository.insert(anyList())).thenThrow(new IllegalStateException("Mongo unavailable"))
+            .thenReturn(List.of());
+        appender.onTaskChanged(TaskChangedEvent.deleted(1L, TaskStatus.NEW));
+        assertThat(appender.commitPending()).isTrue();
+
+        appender.onTaskChanged(TaskChangedEvent.deleted(2L, TaskStatus.NEW));
+        assertThat(appender.commitPending()).isTrue();
+
+        verify(repository, times(2)).insert(anyList());
+    }
+
+    @Test
+    void shouldRebuildTheTaskFromItsLog() {
+        List<TaskLogEntry> log = List.of(
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.CREATED).status(TaskStatus.NEW).title("Review")
+                .version(0L).build(),
+            // Appended after version 2 by a slower writer; the version puts it back in order
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.STATUS_CHANGED).status(TaskStatus.COMPLETED)
+                .version(2L).build(),
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.STATUS_CHANGED).status(TaskStatus.IN_PROGRESS)
+                .version(1L).build());
+
+        assertThat(TaskLogProjection.fold(log)).get()
+            .extracting(Task::getTitle, Task::getStatus, Task::getVersion)
+            .containsExactly("Review", TaskStatus.COMPLETED, 2L);
+        assertThat(TaskLogProjection.fold(List.of(log.get(0),
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.DELETED).build()))).isEmpty();
+    }
+}
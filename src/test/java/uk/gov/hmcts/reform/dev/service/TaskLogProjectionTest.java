@@ -0,0 +1,66 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.dev.enums.TaskChangeType;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.models.TaskLogEntry;
+import uk.gov.hmcts.reform.dev.repository.TaskLogRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskLogProjectionTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private TaskLogRepository logRepository;
+    private TaskLogProjection projection;
+
+    @BeforeEach
+    void setup() {
+        projection = new TaskLogProjection(logRepository);
+    }
+
+    @Test
+    void shouldReplayTheTaskWithItsCreationTime() {
+        when(logRepository.findByTaskIdOrderByIdAsc(1L)).thenReturn(List.of(
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.CREATED).status(TaskStatus.NEW).title("Review")
+                .version(0L).createdAt(CREATED_AT).build(),
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.STATUS_CHANGED).status(TaskStatus.IN_PROGRESS)
+                .version(1L).build()));
+
+        assertThat(projection.replay(1L)).get()
+            .extracting(Task::getTitle, Task::getStatus, Task::getVersion, Task::getCreatedAt)
+            .containsExactly("Review", TaskStatus.IN_PROGRESS, 1L, CREATED_AT);
+    }
+
+    @Test
+    void shouldReplayNothingForATaskWhoseLogEndsInADeletion() {
+        when(logRepository.findByTaskIdOrderByIdAsc(1L)).thenReturn(List.of(
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.CREATED).status(TaskStatus.NEW).title("Review")
+                .version(0L).createdAt(CREATED_AT).build(),
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.DELETED).build()));
+
+        assertThat(projection.replay(1L)).isEmpty();
+    }
+
+    @Test
+    void shouldReplayNothingForATaskWithNoCreationInItsLog() {
+        // A task that predates the log, or whose CREATED entry was lost
+        when(logRepository.findByTaskIdOrderByIdAsc(1L)).thenReturn(List.of(
+            TaskLogEntry.builder().taskId(1L).type(TaskChangeType.STATUS_CHANGED).status(TaskStatus.COMPLETED)
+                .version(3L).build()));
+
+        assertThat(projection.replay(1L)).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new TaskSearchIndex();
+        index.index(1L, "Review bundle", "Review the hearing bundle before Monday", TaskStatus.NEW);
+        index.index(2L, "Draft order", "Draft the order after the hearing", TaskStatus.IN_PROGRESS);
+        index.index(3L, "Hearing bundle", "Send the bundle to the judge", TaskStatus.NEW);
+    }
+
+    @Test
+    void shouldTokenizeIntoDistinctLowerCaseWords() {
+        assertThat(TaskSearchIndex.tokenize("Review, the BUNDLE; review it-again"))
+            .containsExactly("review", "the", "bundle", "it", "again");
+        assertThat(TaskSearchIndex.tokenize("  ...  ")).isEmpty();
+    }
+
+    @Test
+    void shouldOnlyMatchTasksContainingEveryWord() {
+        assertThat(index.search(List.of("hearing", "bundle"), null, 10)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search(List.of("hearing", "judge"), null, 10)).containsExactly(3L);
+        assertThat(index.search(List.of("hearing", "missing"), null, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRankTitleMatchesFirst() {
+        assertThat(index.search(List.of("hearing"), null, 10)).startsWith(3L);
+        assertThat(index.search(List.of("hearing"), null, 1)).containsExactly(3L);
+    }
+
+    @Test
+    void shouldFilterByStatus() {
+        assertThat(index.search(List.of("hearing"), TaskStatus.IN_PROGRESS, 10)).containsExactly(2L);
+
+        index.updateStatus(3L, TaskStatus.IN_PROGRESS);
+
+        assertThat(index.search(List.of("hearing"), TaskStatus.IN_PROGRESS, 10)).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void shouldForgetRemovedAndReplacedText() {
+        index.remove(3L);
+        index.index(1L, "Archive", "Nothing to see", TaskStatus.NEW);
+
+        assertThat(index.search(List.of("bundle"), null, 10)).isEmpty();
+        assertThat(index.search(List.of("archive"), null, 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
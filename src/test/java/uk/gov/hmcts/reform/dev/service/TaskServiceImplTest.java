@@ -1,32 +1,67 @@
 package uk.gov.hmcts.reform.dev.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import uk.gov.hmcts.reform.dev.mapper.TaskMapper;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.enums.TaskEvent;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.exception.InvalidQueryParameterException;
+import uk.gov.hmcts.reform.dev.exception.InvalidStatusTransitionException;
+import uk.gov.hmcts.reform.dev.exception.TaskConflictException;
+import uk.gov.hmcts.reform.dev.exception.TaskNotFoundException;
 import uk.gov.hmcts.reform.dev.models.TaskDTO;
-import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.models.TaskFields;
+import uk.gov.hmcts.reform.dev.models.TaskPage;
+import uk.gov.hmcts.reform.dev.models.TaskQuery;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
 import uk.gov.hmcts.reform.dev.util.TaskTestDataUtil;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TaskServiceImplTest {
 
     @Mock
-    private TaskRepository repository;
+    private TaskStore repository;
     @Mock
     private TaskMapper mapper;
     @Mock
     private TaskStateService taskStateService;
-    @InjectMocks
+    @Mock
+    private Validator validator;
+    @Mock
+    private TaskIdGenerator idGenerator;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TaskChangeSequence changeSequence;
     private TaskServiceImpl taskService;
     private Task sampleTask;
     private TaskDTO sampleTaskDTO;
@@ -34,6 +69,9 @@ class TaskServiceImplTest {
 
     @BeforeEach
     void setup() {
+        taskService = new TaskServiceImpl(repository, mapper, taskStateService, validator, idGenerator,
+                                          Caffeine.newBuilder().buildAsync(), eventPublisher,
+                                          new TaskExistenceFilter(repository, false, 1, 0.01), changeSequence);
         sampleTask = TaskTestDataUtil.sampleTask();
         sampleTaskDTO = TaskTestDataUtil.sampleTaskDTO();
         updatedTaskDTO = TaskTestDataUtil.updatedTaskDTO();
@@ -49,4 +87,287 @@ class TaskServiceImplTest {
 
         assertThat(result).isEqualTo(sampleTaskDTO);
     }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        when(repository.findById(1L)).thenReturn(Optional.of(sampleTask));
+        when(mapper.toDto(sampleTask)).thenReturn(sampleTaskDTO);
+
+        taskService.getTaskById(1L);
+        TaskDTO result = taskService.getTaskById(1L);
+
+        assertThat(result).isEqualTo(sampleTaskDTO);
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldProjectCachedTaskWithoutReading() {
+        TaskFields fields = TaskFields.parse("id,status");
+        TaskDTO projected = TaskDTO.builder().id(1L).status(TaskStatus.NEW).build();
+        when(repository.findById(1L)).thenReturn(Optional.of(sampleTask));
+        when(mapper.toDto(sampleTask)).thenReturn(sampleTaskDTO);
+        when(mapper.project(sampleTaskDTO, fields)).thenReturn(projected);
+
+        taskService.getTaskById(1L);
+        TaskDTO result = taskService.getTaskById(1L, fields);
+
+        assertThat(result).isEqualTo(projected);
+        verify(repository, never()).findById(1L, fields);
+    }
+
+    @Test
+    void shouldReadProjectionWhenTaskIsNotCached() {
+        TaskFields fields = TaskFields.parse("id,status");
+        TaskDTO projected = TaskDTO.builder().id(1L).status(TaskStatus.NEW).build();
+        when(repository.findById(1L, fields)).thenReturn(Optional.of(sampleTask));
+        when(mapper.toDto(sampleTask, fields)).thenReturn(projected);
+
+        assertThat(taskService.getTaskById(1L, fields)).isEqualTo(projected);
+        assertThatThrownBy(() -> taskService.getTaskById(2L, fields)).isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void shouldRejectUnknownField() {
+        assertThatThrownBy(() -> TaskFields.parse("id,secret")).isInstanceOf(InvalidQueryParameterException.class);
+    }
+
+    @Test
+    void shouldNotCacheMissingTasks() {
+        when(repository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.getTaskById(7L)).isInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> taskService.getTaskById(7L)).isInstanceOf(TaskNotFoundException.class);
+
+        verify(repository, times(2)).findById(7L);
+    }
+
+    @Test
+    void shouldAnswerIdsMissingFromTheExistenceFilterWithoutARoundTrip() {
+        TaskExistenceFilter existenceFilter = new TaskExistenceFilter(repository, true, 1000, 0.001);
+        when(repository.streamIdsBy()).thenReturn(Stream.of(sampleTask));
+        existenceFilter.fill();
+        taskService = new TaskServiceImpl(repository, mapper, taskStateService, validator, idGenerator,
+                                          Caffeine.newBuilder().buildAsync(), eventPublisher, existenceFilter,
+                                          changeSequence);
+
+        assertThatThrownBy(() -> taskService.getTaskById(7L)).isInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> taskService.deleteTaskById(7L)).isInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> taskService.updateTaskById(7L, updatedTaskDTO))
+            .isInstanceOf(TaskNotFoundException.class);
+
+        verifyNoInteractions(mapper, taskStateService);
+        verify(repository).streamIdsBy();
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void shouldRefetchAfterDelete() {
+        when(repository.findById(1L)).thenReturn(Optional.of(sampleTask));
+        when(mapper.toDto(sampleTask)).thenReturn(sampleTaskDTO);
+        when(repository.removeById(1L)).thenReturn(Optional.of(sampleTask));
+
+        taskService.getTaskById(1L);
+        taskService.deleteTaskById(1L);
+        taskService.getTaskById(1L);
+
+        verify(repository, times(2)).findById(1L);
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(1L, TaskStatus.NEW));
+    }
+
+    @Test
+    void shouldGenerateIdWhenCreatingTaskWithoutOne() {
+        Task withoutId = TaskTestDataUtil.sampleTask();
+        withoutId.setId(null);
+        when(mapper.toEntity(sampleTaskDTO)).thenReturn(withoutId);
+        when(idGenerator.nextId()).thenReturn(42L);
+        when(repository.save(withoutId)).thenReturn(withoutId);
+        when(mapper.toDto(withoutId)).thenReturn(sampleTaskDTO);
+
+        taskService.createTask(sampleTaskDTO);
+
+        assertThat(withoutId.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void shouldTakeAnotherIdWhenAClientAlreadyChoseTheGeneratedOne() {
+        Task withoutId = TaskTestDataUtil.sampleTask();
+        withoutId.setId(null);
+        when(mapper.toEntity(sampleTaskDTO)).thenReturn(withoutId);
+        when(idGenerator.nextId()).thenReturn(42L, 43L);
+        when(repository.save(withoutId))
+            .thenAnswer(invocation -> {
+                Task task = invocation.getArgument(0);
+                task.setVersion(0L);
+                throw new DuplicateKeyException("E11000 duplicate key error");
+            })
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toDto(withoutId)).thenReturn(sampleTaskDTO);
+
+        taskService.createTask(sampleTaskDTO);
+
+        assertThat(withoutId.getId()).isEqualTo(43L);
+        verify(repository, times(2)).save(withoutId);
+        verify(idGenerator, never()).skipPast(anyLong());
+    }
+
+    @Test
+    void shouldMoveGeneratedIdsPastAClientChosenId() {
+        when(mapper.toEntity(sampleTaskDTO)).thenReturn(sampleTask);
+        when(repository.save(sampleTask)).thenReturn(sampleTask);
+        when(mapper.toDto(sampleTask)).thenReturn(sampleTaskDTO);
+
+        taskService.createTask(sampleTaskDTO);
+
+        verify(idGenerator).skipPast(1L);
+        verify(idGenerator, never()).nextId();
+    }
+
+    @Test
+    void shouldReturnCursorWhenMoreTasksRemain() {
+        Task second = TaskTestDataUtil.sampleTask();
+        second.setId(2L);
+        when(repository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(2)))
+            .thenReturn(List.of(sampleTask, second));
+        when(mapper.toDto(sampleTask)).thenReturn(sampleTaskDTO);
+
+        TaskPage page = taskService.getTaskPage(null, 1);
+
+        assertThat(page.items()).containsExactly(sampleTaskDTO);
+        assertThat(TaskCursor.decode(page.nextCursor())).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldResumeAfterCursorAndStopOnLastPage() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(11)))
+            .thenReturn(List.of());
+
+        TaskPage page = taskService.getTaskPage(TaskCursor.encode(1L), 10);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> taskService.getTaskPage("not-a-cursor!", 10))
+            .isInstanceOf(InvalidQueryParameterException.class);
+    }
+
+    @Test
+    void shouldRejectEmptyDueDateRange() {
+        LocalDateTime due = LocalDateTime.of(2025, 10, 25, 10, 30);
+
+        assertThatThrownBy(() -> taskService.findTasks(new TaskQuery(null, due, due, null)))
+            .isInstanceOf(InvalidQueryParameterException.class);
+        verify(repository, never()).findByQuery(any());
+    }
+
+    @Test
+    void shouldCommitTransitionInSingleRoundTrip() {
+        when(taskStateService.allowedSources(TaskStatus.IN_PROGRESS)).thenReturn(Set.of(TaskStatus.NEW));
+        when(repository.compareAndSetStatus(1L, null, Set.of(TaskStatus.NEW), TaskStatus.IN_PROGRESS))
+            .thenReturn(Optional.of(sampleTask));
+        when(mapper.statusToEvent(TaskStatus.NEW, TaskStatus.IN_PROGRESS)).thenReturn(TaskEvent.START);
+        when(mapper.toDto(sampleTask)).thenReturn(updatedTaskDTO);
+
+        TaskDTO result = taskService.updateTaskById(1L, updatedTaskDTO);
+
+        assertThat(result).isEqualTo(updatedTaskDTO);
+        assertThat(sampleTask.getVersion()).isEqualTo(1L);
+        verify(taskStateService).applyEvent(sampleTask, TaskEvent.START);
+        verify(repository, never()).findById(1L);
+        verify(repository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(TaskChangedEvent.statusChanged(updatedTaskDTO, TaskStatus.NEW));
+        verify(changeSequence).advance();
+    }
+
+    @Test
+    void shouldReportConflictWhenExpectedVersionIsStale() {
+        TaskDTO staleUpdate = TaskDTO.builder().id(1L).title("Test Task").status(TaskStatus.IN_PROGRESS)
+            .version(3L).build();
+        sampleTask.setVersion(4L);
+        when(taskStateService.allowedSources(TaskStatus.IN_PROGRESS)).thenReturn(Set.of(TaskStatus.NEW));
+        when(repository.compareAndSetStatus(1L, 3L, Set.of(TaskStatus.NEW), TaskStatus.IN_PROGRESS))
+            .thenReturn(Optional.empty());
+        when(repository.findById(1L)).thenReturn(Optional.of(sampleTask));
+
+        assertThatThrownBy(() -> taskService.updateTaskById(1L, staleUpdate))
+            .isInstanceOf(TaskConflictException.class);
+        verify(changeSequence, never()).advance();
+    }
+
+    @Test
+    void shouldRejectTransitionNotAllowedFromCurrentStatus() {
+        TaskDTO completeUpdate = TaskDTO.builder().id(1L).title("Test Task").status(TaskStatus.COMPLETED).build();
+        when(taskStateService.allowedSources(TaskStatus.COMPLETED)).thenReturn(Set.of(TaskStatus.IN_PROGRESS));
+        when(repository.compareAndSetStatus(1L, null, Set.of(TaskStatus.IN_PROGRESS), TaskStatus.COMPLETED))
+            .thenReturn(Optional.empty());
+        when(repository.findById(1L)).thenReturn(Optional.of(sampleTask));
+
+        assertThatThrownBy(() -> taskService.updateTaskById(1L, completeUpdate))
+            .isInstanceOf(InvalidStatusTransitionException.class);
+    }
+
+    @Test
+    void shouldReportPerItemOutcomeForBatchCreate() {
+        TaskDTO second = TaskDTO.builder().id(2L).title("Second").build();
+        Task secondTask = Task.builder().id(2L).title("Second").build();
+        when(mapper.toEntity(sampleTaskDTO)).thenReturn(sampleTask);
+        when(mapper.toEntity(second)).thenReturn(secondTask);
+        when(repository.insertAllUnordered(List.of(sampleTask, secondTask)))
+            .thenReturn(Map.of(1, "Task already exists with id 2"));
+
+        BatchResult result = taskService.createTasks(List.of(sampleTaskDTO, second, sampleTaskDTO));
+
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.items()).extracting(BatchItemResult::success).containsExactly(true, false, false);
+        assertThat(result.items().get(2).error()).isEqualTo("Duplicate task id 1 in batch");
+        assertThat(sampleTask.getVersion()).isZero();
+    }
+
+    @Test
+    void shouldApplyValidStatusChangesInOneBulkWrite() {
+        sampleTask.setVersion(0L);
+        when(repository.findStatusesByIdIn(any())).thenReturn(List.of(sampleTask));
+        when(mapper.statusToEvent(TaskStatus.NEW, TaskStatus.IN_PROGRESS)).thenReturn(TaskEvent.START);
+        when(repository.compareAndSetStatuses(anyList())).thenReturn(1);
+
+        BatchResult result = taskService.updateTaskStatuses(List.of(
+            new TaskStatusChange(1L, TaskStatus.IN_PROGRESS, null),
+            new TaskStatusChange(1L, TaskStatus.COMPLETED, null),
+            new TaskStatusChange(9L, TaskStatus.IN_PROGRESS, null)
+        ));
+
+        assertThat(result.items()).extracting(BatchItemResult::success).containsExactly(true, false, false);
+        assertThat(result.items().get(1).error()).isEqualTo("Duplicate task id 1 in batch");
+        assertThat(result.items().get(2).error()).isEqualTo("Task not found with id 9");
+        verify(repository).compareAndSetStatuses(List.of(new TaskStatusUpdate(1L, 0L, TaskStatus.IN_PROGRESS)));
+        // One write, so the list's tag moves once however many tasks it changed
+        verify(changeSequence, times(1)).advance();
+    }
+
+    @Test
+    void shouldPublishTheWholeTaskForEachBatchStatusChange() {
+        sampleTask.setVersion(0L);
+        when(repository.findStatusesByIdIn(any())).thenReturn(List.of(sampleTask));
+        when(mapper.statusToEvent(TaskStatus.NEW, TaskStatus.IN_PROGRESS)).thenReturn(TaskEvent.START);
+        when(repository.compareAndSetStatuses(anyList())).thenReturn(1);
+        when(repository.findAllById(List.of(1L))).thenReturn(List.of(sampleTask));
+        when(mapper.toDto(sampleTask)).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            return TaskDTO.builder().id(task.getId()).title(task.getTitle()).dueDate(task.getDueDate())
+                .status(task.getStatus()).version(task.getVersion()).build();
+        });
+
+        taskService.updateTaskStatuses(List.of(new TaskStatusChange(1L, TaskStatus.IN_PROGRESS, 0L)));
+
+        verify(eventPublisher).publishEvent(TaskChangedEvent.statusChanged(TaskDTO.builder()
+            .id(1L)
+            .title(sampleTask.getTitle())
+            .dueDate(sampleTask.getDueDate())
+            .status(TaskStatus.IN_PROGRESS)
+            .version(1L)
+            .build(), TaskStatus.NEW));
+    }
 }
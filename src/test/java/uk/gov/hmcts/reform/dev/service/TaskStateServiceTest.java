@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import uk.gov.hmcts.reform.dev.config.TaskStateMachineConfig;
+import uk.gov.hmcts.reform.dev.enums.TaskEvent;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringJUnitConfig(TaskStateMachineConfig.class)
+class TaskStateServiceTest {
+
+    @Autowired
+    private StateMachineFactory<TaskStatus, TaskEvent> stateMachineFactory;
+
+    @Test
+    void shouldCountAcceptedAndRejectedEvents() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TaskStateService stateService = new TaskStateService(new TaskTransitionTable(stateMachineFactory),
+                                                             meterRegistry);
+        Task task = Task.builder().id(1L).status(TaskStatus.NEW).build();
+
+        stateService.applyEvent(task, TaskEvent.START);
+        assertThatThrownBy(() -> stateService.applyEvent(task, TaskEvent.START))
+            .isInstanceOf(IllegalStateException.class);
+        stateService.recordRejected(TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+        stateService.recordAccepted(TaskEvent.COMPLETE);
+
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(count(meterRegistry, TaskEvent.START, "accepted")).isEqualTo(1);
+        assertThat(count(meterRegistry, TaskEvent.START, "rejected")).isEqualTo(1);
+        assertThat(count(meterRegistry, TaskEvent.CANCEL, "rejected")).isEqualTo(1);
+        assertThat(count(meterRegistry, TaskEvent.COMPLETE, "accepted")).isEqualTo(1);
+        assertThat(count(meterRegistry, TaskEvent.COMPLETE, "rejected")).isZero();
+    }
+
+    private static double count(SimpleMeterRegistry meterRegistry, TaskEvent event, String outcome) {
+        return meterRegistry.get(TaskStateService.TRANSITIONS_METER)
+            .tag("event", event.name())
+            .tag("outcome", outcome)
+            .counter()
+            .count();
+    }
+}
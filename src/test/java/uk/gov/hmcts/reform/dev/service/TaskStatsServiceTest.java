@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.events.TaskChangedEvent;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskStats;
+import uk.gov.hmcts.reform.dev.repository.TaskStore;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsServiceTest {
+
+    @Mock
+    private TaskStore repository;
+    @Mock
+    private ObjectProvider<OverdueTaskMonitor> overdueMonitor;
+    @Mock
+    private OverdueTaskMonitor monitor;
+    private TaskStatsService statsService;
+
+    @BeforeEach
+    void setup() {
+        statsService = new TaskStatsService(repository, overdueMonitor);
+    }
+
+    @Test
+    void shouldSeedFromTheAggregationAndFollowChanges() {
+        when(repository.countByStatus()).thenReturn(Map.of(TaskStatus.NEW, 3L, TaskStatus.COMPLETED, 2L));
+        when(overdueMonitor.getIfAvailable()).thenReturn(monitor);
+        when(monitor.overdueCount()).thenReturn(1);
+        statsService.reconcile();
+
+        statsService.onTaskChanged(TaskChangedEvent.created(TaskDTO.builder().id(6L).status(TaskStatus.NEW).build()));
+        statsService.onTaskChanged(TaskChangedEvent.statusChanged(
+            TaskDTO.builder().id(1L).status(TaskStatus.IN_PROGRESS).build(), TaskStatus.NEW));
+        statsService.onTaskChanged(TaskChangedEvent.deleted(4L, TaskStatus.COMPLETED));
+
+        TaskStats stats = statsService.getStats();
+        assertThat(stats.byStatus()).containsEntry(TaskStatus.NEW, 3L)
+            .containsEntry(TaskStatus.IN_PROGRESS, 1L)
+            .containsEntry(TaskStatus.COMPLETED, 1L)
+            .containsEntry(TaskStatus.CANCELLED, 0L);
+        assertThat(stats.total()).isEqualTo(5);
+        assertThat(stats.overdue()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCorrectDriftOnReconcile() {
+        when(repository.countByStatus()).thenReturn(Map.of(TaskStatus.NEW, 2L));
+        statsService.onTaskChanged(TaskChangedEvent.created(TaskDTO.builder().id(1L).status(TaskStatus.NEW).build()));
+        statsService.onTaskChanged(TaskChangedEvent.deleted(9L, TaskStatus.CANCELLED));
+
+        statsService.reconcile();
+
+        TaskStats stats = statsService.getStats();
+        assertThat(stats.byStatus()).containsEntry(TaskStatus.NEW, 2L).containsEntry(TaskStatus.CANCELLED, 0L);
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.overdue()).isNull();
+    }
+}
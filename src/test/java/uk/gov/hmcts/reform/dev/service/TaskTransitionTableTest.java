@@ -0,0 +1,52 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.support.DefaultStateMachineContext;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import uk.gov.hmcts.reform.dev.config.TaskStateMachineConfig;
+import uk.gov.hmcts.reform.dev.enums.TaskEvent;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringJUnitConfig(TaskStateMachineConfig.class)
+class TaskTransitionTableTest {
+
+    @Autowired
+    private StateMachineFactory<TaskStatus, TaskEvent> stateMachineFactory;
+
+    @Test
+    void shouldAcceptExactlyWhatTheStateMachineAccepts() {
+        TaskTransitionTable table = new TaskTransitionTable(stateMachineFactory);
+
+        for (TaskStatus source : TaskStatus.values()) {
+            for (TaskEvent event : TaskEvent.values()) {
+                StateMachine<TaskStatus, TaskEvent> stateMachine = stateMachineFactory.getStateMachine();
+                stateMachine.getStateMachineAccessor().doWithAllRegions(
+                    access -> access.resetStateMachine(new DefaultStateMachineContext<>(source, null, null, null)));
+                stateMachine.startReactively().block();
+                boolean accepted = stateMachine.sendEvent(event);
+
+                TaskStatus expected = accepted ? stateMachine.getState().getId() : null;
+                assertThat(table.target(source, event))
+                    .as("%s on %s", event, source)
+                    .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void shouldResolveEventForStatusChange() {
+        TaskTransitionTable table = new TaskTransitionTable(stateMachineFactory);
+
+        assertThat(table.eventFor(TaskStatus.NEW, TaskStatus.IN_PROGRESS)).isEqualTo(TaskEvent.START);
+        assertThat(table.eventFor(TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED)).isEqualTo(TaskEvent.COMPLETE);
+        assertThat(table.eventFor(TaskStatus.NEW, TaskStatus.CANCELLED)).isEqualTo(TaskEvent.CANCEL);
+        assertThat(table.eventFor(TaskStatus.IN_PROGRESS, TaskStatus.CANCELLED)).isEqualTo(TaskEvent.CANCEL);
+        assertThat(table.eventFor(TaskStatus.NEW, TaskStatus.COMPLETED)).isNull();
+        assertThat(table.eventFor(TaskStatus.COMPLETED, TaskStatus.NEW)).isNull();
+    }
+}
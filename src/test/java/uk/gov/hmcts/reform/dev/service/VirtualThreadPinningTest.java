@@ -0,0 +1,121 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import uk.gov.hmcts.reform.dev.config.TaskStateMachineConfig;
+import uk.gov.hmcts.reform.dev.enums.TaskStatus;
+import uk.gov.hmcts.reform.dev.mapper.TaskMapper;
+import uk.gov.hmcts.reform.dev.models.BatchResult;
+import uk.gov.hmcts.reform.dev.models.TaskDTO;
+import uk.gov.hmcts.reform.dev.models.TaskStatusChange;
+import uk.gov.hmcts.reform.dev.repository.TaskIndexInitializer;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static uk.gov.hmcts.reform.dev.service.BlockTaskIdGenerator.COUNTERS_COLLECTION;
+
+/**
+ * Runs the request hot paths on virtual threads through the real Mongo driver, repository and transition table,
+ * and fails if JFR reports any virtual thread parking while pinned to its carrier.
+ */
+@DataMongoTest
+@Import({TaskIndexInitializer.class, TaskStateMachineConfig.class, TaskTransitionTable.class, TaskMapper.class})
+class VirtualThreadPinningTest {
+
+    private static final int REQUESTS = 100;
+
+    @Autowired
+    private TaskRepository repository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private TaskIndexInitializer indexInitializer;
+    @Autowired
+    private TaskTransitionTable transitionTable;
+    @Autowired
+    private TaskMapper mapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    private AsyncCache<Long, TaskDTO> taskCache;
+    private TaskServiceImpl taskService;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAll();
+        mongoTemplate.dropCollection(COUNTERS_COLLECTION);
+        indexInitializer.ensureIndexes();
+        taskCache = Caffeine.newBuilder().buildAsync();
+        // Only the batch create validates, and it is not on the path exercised here
+        taskService = new TaskServiceImpl(
+            repository, mapper, new TaskStateService(transitionTable, new SimpleMeterRegistry()),
+            mock(Validator.class), new BlockTaskIdGenerator(mongoTemplate, 10), taskCache, eventPublisher,
+            new TaskExistenceFilter(repository, false, 1, 0.01), new MongoTaskChangeSequence(mongoTemplate));
+    }
+
+    @Test
+    void shouldNotPinCarrierThreadsOnHotPath() throws Exception {
+        // Warm up on the test thread so class initialisation and the first connections are not mistaken for pinning
+        runRequest();
+
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> requests = new ArrayList<>();
+                for (int i = 0; i < REQUESTS; i++) {
+                    requests.add(executor.submit(this::runRequest));
+                }
+                for (Future<?> request : requests) {
+                    request.get();
+                }
+            }
+            recording.stop();
+        }
+
+        assertThat(pinned)
+            .as("virtual threads pinned while blocking: %s", pinned)
+            .isEmpty();
+        assertThat(repository.count()).isEqualTo(REQUESTS + 1L);
+    }
+
+    /**
+     * One task through its whole life: generated-id create, a cache miss read, a single status change through the
+     * transition table and a batch status change.
+     */
+    private void runRequest() {
+        TaskDTO created = taskService.createTask(TaskDTO.builder().title("Test Task").status(TaskStatus.NEW).build());
+        taskCache.synchronous().invalidate(created.id());
+        TaskDTO read = taskService.getTaskById(created.id());
+        TaskDTO started = taskService.updateTaskById(read.id(), TaskDTO.builder()
+            .title(read.title())
+            .status(TaskStatus.IN_PROGRESS)
+            .version(read.version())
+            .build());
+        BatchResult completed = taskService.updateTaskStatuses(
+            List.of(new TaskStatusChange(started.id(), TaskStatus.COMPLETED, started.version())));
+        assertThat(completed.failed()).isZero();
+    }
+}